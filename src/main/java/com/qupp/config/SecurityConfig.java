@@ -2,12 +2,21 @@ package com.qupp.config;
 
 import com.qupp.jwt.JwtAuthorizationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -20,6 +29,43 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig  {
     private final JwtAuthorizationFilter jwtAuthorizationFilter;
 
+    /**
+     * actuator 는 사용자 JWT 와 분리해서 스크레이프용 계정(HTTP Basic)으로만 읽는다.
+     * 회원 토큰으로는 메트릭을 볼 수 없고, 스크레이퍼는 만료되는 토큰 없이 고정 계정을 쓴다. health 는 로드밸런서용으로 열어 둔다.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${qupp.management.username}") String username,
+            @Value("${qupp.management.password}") String password
+    ) throws Exception {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(passwordEncoder.encode(password))
+                .authorities("METRICS")
+                .build()));
+
+        http
+                .requestMatcher(EndpointRequest.toAnyEndpoint())
+                .authorizeRequests(
+                        authorizeRequests -> authorizeRequests
+                                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                                .anyRequest()
+                                .hasAuthority("METRICS")
+                )
+                .authenticationManager(new ProviderManager(provider))
+                .httpBasic()
+                .and()
+                .csrf().disable()
+                .formLogin().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationConfiguration authenticationConfiguration) throws Exception {
         http
@@ -28,6 +74,8 @@ public class SecurityConfig  {
                                 .antMatchers(
                                         "/user", "/user/duplicate/**", "/login"
                                 ).permitAll()
+                                // 메서드의 @PreAuthorize 는 켜져 있지 않으므로 관리자 API 는 여기서 막는다.
+                                .antMatchers("/questions/export").hasAuthority("ADMIN")
                                 .anyRequest()
                                 .authenticated()
                 )
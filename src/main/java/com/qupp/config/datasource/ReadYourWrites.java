@@ -0,0 +1,73 @@
+package com.qupp.config.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 최근에 primary 에 쓰기 트랜잭션을 열었는지 기록한다.
+ * 쓰기 직후의 읽기는 복제 지연이 있는 replica 대신 primary 로 보내서 방금 쓴 데이터를 볼 수 있게 한다.
+ * 요청 스레드에서는 ReadYourWritesFilter 가 begin/clear 로 요청이 끝날 때까지 기록을 유지한다.
+ * 스케줄러나 executor 처럼 요청 밖의 스레드에서는 쓰기 트랜잭션이 끝날 때 기록을 지워서 다음 작업으로 넘어가지 않게 한다.
+ * 캐시를 채우는 조회처럼 복제 지연을 허용할 수 없는 읽기는 {@link #onPrimary(Supplier)} 로 primary 에서 실행한다.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void begin() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+
+    public static void pin() {
+        if (PINNED.get() != null) {
+            return;
+        }
+
+        if (IN_REQUEST.get() != null) {
+            PINNED.set(Boolean.TRUE);
+            return;
+        }
+
+        // 요청 밖에서는 지워 줄 곳이 없으므로 트랜잭션 동기화가 없으면 기록하지 않는다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PINNED.set(Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    PINNED.remove();
+                }
+            });
+        }
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null || FORCED.get() != null;
+    }
+
+    /**
+     * action 안에서 여는 읽기 전용 트랜잭션을 primary 로 보낸다. 요청의 pin 상태는 바꾸지 않는다.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (FORCED.get() != null) {
+            return action.get();
+        }
+
+        FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            FORCED.remove();
+        }
+    }
+
+    public static void clear() {
+        PINNED.remove();
+        IN_REQUEST.remove();
+    }
+}
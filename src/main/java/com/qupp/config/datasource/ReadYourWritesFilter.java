@@ -0,0 +1,59 @@
+package com.qupp.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qupp.jwt.UserContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 요청 단위로 read-your-writes 상태를 관리한다.
+ * 요청 중에 쓰기가 있었다면 같은 요청의 이후 읽기는 primary 에서 처리되고,
+ * 로그인한 회원이라면 stickiness 동안 다음 요청의 읽기도 primary 에서 처리된다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+
+        ReadYourWrites.begin();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            ReadYourWrites.pin();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (userId != null && ReadYourWrites.isPinned()) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            ReadYourWrites.clear();
+        }
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof UserContext userContext) {
+            return userContext.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.qupp.config.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("qupp.datasource.routing")
+public class ReplicaDataSourceProperties {
+    private boolean enabled;
+
+    // 쓰기를 한 회원의 읽기를 primary 로 보내는 시간. replica 복제 지연보다 길게 잡는다.
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
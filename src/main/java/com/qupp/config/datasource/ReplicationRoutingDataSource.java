@@ -0,0 +1,65 @@
+package com.qupp.config.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션은 replica 로, 그 밖의 연결은 primary 로 보낸다.
+ * 트랜잭션의 readOnly 여부가 정해진 뒤에 실제 연결을 가져와야 하므로 LazyConnectionDataSourceProxy 로 감싸서 사용한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica-";
+
+    private final List<DataSource> dataSources;
+    private final int replicaCount;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<? extends DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA + i, replicas.get(i));
+        }
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.dataSources = targets.values().stream().map(DataSource.class::cast).toList();
+        this.replicaCount = replicas.size();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (replicaCount > 0 && !ReadYourWrites.isPinned()) {
+                return REPLICA + Math.floorMod(next.getAndIncrement(), replicaCount);
+            }
+            return PRIMARY;
+        }
+
+        // 쓰기 트랜잭션을 연 스레드의 이후 읽기는 요청이 끝날 때까지(요청 밖이면 그 트랜잭션이 끝날 때까지) primary 에서 처리한다.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.pin();
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.qupp.config.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Hibernate 가 엔티티를 persist 할 때 IdGenerator 빈에서 id 를 받아온다.
+ * Hibernate 가 직접 생성하는 객체라서 빈은 IdGeneratorConfig 가 Hibernate 설정(SETTING)에 넣어 둔 Supplier 로 찾는다.
+ *
+ * <pre>
+ * &#64;GeneratedValue(generator = "question_id")
+ * &#64;GenericGenerator(name = "question_id", strategy = EntityIdGenerator.STRATEGY)
+ * </pre>
+ */
+public class EntityIdGenerator implements IdentifierGenerator {
+    public static final String STRATEGY = "com.qupp.config.id.EntityIdGenerator";
+    static final String SETTING = "qupp.id.generator";
+
+    private String sequence;
+    private Supplier<IdGenerator> supplier;
+    private IdGenerator idGenerator;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        sequence = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        supplier = (Supplier<IdGenerator>) serviceRegistry.getService(ConfigurationService.class).getSettings().get(SETTING);
+        if (supplier == null) {
+            throw new IllegalStateException(SETTING + " 설정이 없습니다.");
+        }
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        if (idGenerator == null) {
+            idGenerator = supplier.get();
+        }
+        return idGenerator.nextId(sequence);
+    }
+}
@@ -0,0 +1,26 @@
+package com.qupp.config.id;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * PooledIdGenerator 가 sequence 별로 다음에 나눠줄 id 를 기록하는 테이블.
+ * 읽고 쓰는 것은 JDBC 로 하고, 엔티티는 테이블 생성에만 쓴다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "id_block")
+public class IdBlock {
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long nextVal;
+}
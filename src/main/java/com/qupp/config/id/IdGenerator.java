@@ -0,0 +1,13 @@
+package com.qupp.config.id;
+
+/**
+ * 엔티티 id 를 INSERT 전에 애플리케이션에서 발급한다.
+ * IDENTITY 와 달리 키를 받으려고 행마다 왕복할 필요가 없어서 INSERT 를 JDBC batch 로 묶을 수 있다.
+ */
+public interface IdGenerator {
+
+    /**
+     * @param sequence id 를 나눠 쓰는 단위 (테이블 이름)
+     */
+    long nextId(String sequence);
+}
@@ -0,0 +1,42 @@
+package com.qupp.config.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Supplier;
+
+/**
+ * 엔티티 id 는 id_block 테이블에서 pool-size 개씩 받아와 발급한다. 기존 id 에 이어서 작은 값부터 발급하므로
+ * JSON 의 number(2^53 미만)로 그대로 내보낼 수 있다.
+ * 구간 할당은 spring.datasource.* 로 만든 connection-pool-size 개짜리 전용 풀에서 한다. 요청용 풀과 섞이지 않도록 DataSource 빈으로 등록하지 않는다.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    // IdGenerator 는 EntityManagerFactory 보다 늦게 만들어질 수 있으므로 처음 id 를 발급할 때 찾는다.
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorCustomizer(ObjectProvider<IdGenerator> idGenerator) {
+        return properties -> properties.put(EntityIdGenerator.SETTING, (Supplier<IdGenerator>) idGenerator::getObject);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PooledIdGenerator pooledIdGenerator(
+            DataSourceProperties dataSourceProperties,
+            @Value("${qupp.id.pool-size:100}") int poolSize,
+            @Value("${qupp.id.connection-pool-size:2}") int connectionPoolSize
+    ) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("id-block");
+        dataSource.setMaximumPoolSize(connectionPoolSize);
+        dataSource.setMinimumIdle(0);
+
+        return new PooledIdGenerator(dataSource, poolSize);
+    }
+}
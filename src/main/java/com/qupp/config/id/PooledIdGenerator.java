@@ -0,0 +1,111 @@
+package com.qupp.config.id;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * hi/lo 방식으로 id_block 테이블에서 pool-size 개씩 id 구간을 받아와 메모리에서 나눠준다.
+ * 구간을 받아오는 UPDATE 는 행 잠금으로 직렬화되므로 여러 노드가 같은 테이블을 써도 id 가 겹치지 않는다.
+ * 노드가 재시작하면 쓰지 않은 구간은 버려진다.
+ * 구간을 받아오는 동안 같은 sequence 의 다른 스레드는 기다리므로, 운영에서는 요청이 쓰는 커넥션 풀과 따로 둔 작은 풀을 쓴다.
+ * 같은 풀을 쓰면 커넥션을 하나씩 쥔 요청들이 기다리는 동안 할당할 커넥션을 얻지 못해 풀 전체가 멈출 수 있다.
+ */
+public class PooledIdGenerator implements IdGenerator, Closeable {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final int poolSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final HikariDataSource ownDataSource;
+
+    /**
+     * 구간 할당에만 쓰는 dataSource 를 받아서 종료할 때 함께 닫는다.
+     */
+    public PooledIdGenerator(HikariDataSource dataSource, int poolSize) {
+        this(new JdbcTemplate(dataSource), requiresNew(dataSource), poolSize, dataSource);
+    }
+
+    /**
+     * @param requiresNew 호출한 쪽 트랜잭션과 상관없이 구간 할당을 바로 커밋하도록 PROPAGATION_REQUIRES_NEW 로 설정한 템플릿
+     */
+    public PooledIdGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate requiresNew, int poolSize) {
+        this(jdbcTemplate, requiresNew, poolSize, null);
+    }
+
+    private PooledIdGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate requiresNew, int poolSize, HikariDataSource ownDataSource) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("pool-size 는 1 이상이어야 합니다: " + poolSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = requiresNew;
+        this.poolSize = poolSize;
+        this.ownDataSource = ownDataSource;
+    }
+
+    @Override
+    public long nextId(String sequence) {
+        Block block = blocks.computeIfAbsent(sequence, s -> new Block());
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = allocate(sequence);
+                block.end = block.next + poolSize;
+            }
+            return block.next++;
+        }
+    }
+
+    // [next_val, next_val + pool-size) 구간을 가져가고 next_val 을 그만큼 올린다.
+    private long allocate(String sequence) {
+        Long start = requiresNew.execute(status -> {
+            if (increase(sequence) == 0) {
+                seed(sequence);
+                increase(sequence);
+            }
+            return jdbcTemplate.queryForObject("select next_val from id_block where name = ?", Long.class, sequence) - poolSize;
+        });
+        if (start == null) {
+            throw new IllegalStateException("id 구간을 할당하지 못했습니다: " + sequence);
+        }
+        return start;
+    }
+
+    private int increase(String sequence) {
+        return jdbcTemplate.update("update id_block set next_val = next_val + ? where name = ?", poolSize, sequence);
+    }
+
+    // IDENTITY 로 이미 들어간 행과 겹치지 않도록 테이블의 최대 id 다음부터 시작한다.
+    private void seed(String sequence) {
+        try {
+            jdbcTemplate.update(
+                    "insert into id_block (name, next_val) select ?, coalesce(max(id), 0) + 1 from " + sequence,
+                    sequence);
+        } catch (DuplicateKeyException e) {
+            // 다른 노드가 먼저 만들었다.
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownDataSource != null) {
+            ownDataSource.close();
+        }
+    }
+
+    private static TransactionTemplate requiresNew(HikariDataSource dataSource) {
+        TransactionTemplate requiresNew = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return requiresNew;
+    }
+
+    private static class Block {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,91 @@
+package com.qupp.config.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import java.util.function.Consumer;
+
+/**
+ * 전역 Hibernate 통계를 그대로 집계하면서, 요청 처리 중이면 그 요청의 RequestStatistics 에도 더한다.
+ * hibernate.stats.factory 로 등록하며 hibernate.generate_statistics=true 일 때만 호출된다.
+ */
+public class CountingStatistics extends StatisticsImpl {
+
+    public CountingStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        count(RequestStatistics::statement);
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        count(RequestStatistics::query);
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        count(RequestStatistics::entityLoad);
+    }
+
+    @Override
+    public void fetchEntity(String entityName) {
+        super.fetchEntity(entityName);
+        count(RequestStatistics::entityFetch);
+    }
+
+    @Override
+    public void fetchCollection(String role) {
+        super.fetchCollection(role);
+        count(RequestStatistics::collectionFetch);
+    }
+
+    @Override
+    public void entityCacheHit(NavigableRole entityName, String regionName) {
+        super.entityCacheHit(entityName, regionName);
+        count(RequestStatistics::cacheHit);
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        count(RequestStatistics::cacheMiss);
+    }
+
+    @Override
+    public void collectionCacheHit(NavigableRole role, String regionName) {
+        super.collectionCacheHit(role, regionName);
+        count(RequestStatistics::cacheHit);
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole role, String regionName) {
+        super.collectionCacheMiss(role, regionName);
+        count(RequestStatistics::cacheMiss);
+    }
+
+    @Override
+    public void queryCacheHit(String hql, String regionName) {
+        super.queryCacheHit(hql, regionName);
+        count(RequestStatistics::cacheHit);
+    }
+
+    @Override
+    public void queryCacheMiss(String hql, String regionName) {
+        super.queryCacheMiss(hql, regionName);
+        count(RequestStatistics::cacheMiss);
+    }
+
+    private void count(Consumer<RequestStatistics> counter) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            counter.accept(statistics);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.qupp.config.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 메서드(QuestionController.findOne 등)마다 응답 시간과 요청당 Hibernate 작업 수를 기록한다.
+ *
+ * qupp.endpoint (Timer): 응답 시간. 클라이언트 쪽 백분위(p50/p95/p99)는 HdrHistogram 으로 계산하고 histogram 버킷도 함께 내보낸다.
+ * qupp.endpoint.statements / queries / entity.loads / entity.fetches / collection.fetches / cache.hits / cache.misses
+ * (DistributionSummary): 요청 하나의 Hibernate 통계. 같은 handler 의 max 나 p99 가 데이터 크기를 따라 늘면 N+1 을 의심한다.
+ */
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+    private static final String START = EndpointMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public EndpointMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START, System.nanoTime());
+            RequestStatistics.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+
+        RequestStatistics statistics = RequestStatistics.current();
+        RequestStatistics.end();
+
+        Meters handlerMeters = meters.computeIfAbsent(handlerMethod.getMethod(), method -> new Meters(registry, name(handlerMethod)));
+        handlerMeters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (statistics != null) {
+            handlerMeters.record(statistics);
+        }
+    }
+
+    private static String name(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+
+    private static class Meters {
+        private final Timer latency;
+        private final DistributionSummary statements;
+        private final DistributionSummary queries;
+        private final DistributionSummary entityLoads;
+        private final DistributionSummary entityFetches;
+        private final DistributionSummary collectionFetches;
+        private final DistributionSummary cacheHits;
+        private final DistributionSummary cacheMisses;
+
+        Meters(MeterRegistry registry, String handler) {
+            latency = Timer.builder("qupp.endpoint")
+                    .description("controller method latency")
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            statements = summary(registry, handler, "statements", "JDBC statements per request");
+            queries = summary(registry, handler, "queries", "HQL/JPQL queries per request");
+            entityLoads = summary(registry, handler, "entity.loads", "entities loaded per request");
+            entityFetches = summary(registry, handler, "entity.fetches", "entities fetched separately per request");
+            collectionFetches = summary(registry, handler, "collection.fetches", "lazy collections fetched per request");
+            cacheHits = summary(registry, handler, "cache.hits", "second-level/query cache hits per request");
+            cacheMisses = summary(registry, handler, "cache.misses", "second-level/query cache misses per request");
+        }
+
+        void record(RequestStatistics statistics) {
+            statements.record(statistics.getStatements());
+            queries.record(statistics.getQueries());
+            entityLoads.record(statistics.getEntityLoads());
+            entityFetches.record(statistics.getEntityFetches());
+            collectionFetches.record(statistics.getCollectionFetches());
+            cacheHits.record(statistics.getCacheHits());
+            cacheMisses.record(statistics.getCacheMisses());
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String handler, String name, String description) {
+            return DistributionSummary.builder("qupp.endpoint." + name)
+                    .description(description)
+                    .tag("handler", handler)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.qupp.config.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.stat.internal.StatisticsInitiator;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 컨트롤러 메서드별 응답 시간/Hibernate 통계를 기록한다. /actuator/prometheus 로 확인한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointMetricsInterceptor(meterRegistry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer countingStatisticsCustomizer() {
+        return properties -> properties.put(StatisticsInitiator.STATS_BUILDER, (StatisticsFactory) CountingStatistics::new);
+    }
+}
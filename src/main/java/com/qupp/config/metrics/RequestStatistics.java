@@ -0,0 +1,67 @@
+package com.qupp.config.metrics;
+
+import lombok.Getter;
+
+/**
+ * 요청 하나를 처리하는 동안 Hibernate 가 한 일을 센다. 요청 스레드에만 묶이므로 동기화하지 않는다.
+ * EndpointMetricsInterceptor 가 요청 시작/끝에 begin/end 를 호출하고, CountingStatistics 가 값을 올린다.
+ */
+@Getter
+public class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    // JDBC PreparedStatement 수 (실제로 DB 에 보낸 SQL 수)
+    private long statements;
+    // HQL/JPQL/Criteria 쿼리 실행 수
+    private long queries;
+    // 영속성 컨텍스트에 올라온 엔티티 수
+    private long entityLoads;
+    // 지연 로딩 등으로 엔티티를 따로 조회한 수
+    private long entityFetches;
+    // 지연 로딩된 컬렉션 수. 요청 크기에 따라 늘어나면 N+1 이다.
+    private long collectionFetches;
+    private long cacheHits;
+    private long cacheMisses;
+
+    public static RequestStatistics begin() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statement() {
+        statements++;
+    }
+
+    void query() {
+        queries++;
+    }
+
+    void entityLoad() {
+        entityLoads++;
+    }
+
+    void entityFetch() {
+        entityFetches++;
+    }
+
+    void collectionFetch() {
+        collectionFetches++;
+    }
+
+    void cacheHit() {
+        cacheHits++;
+    }
+
+    void cacheMiss() {
+        cacheMisses++;
+    }
+}
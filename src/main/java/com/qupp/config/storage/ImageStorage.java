@@ -0,0 +1,31 @@
+package com.qupp.config.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 업로드한 이미지를 저장하는 곳. 구현은 qupp.image.storage 로 고른다 (ImageStorageConfig).
+ */
+public interface ImageStorage {
+
+    /**
+     * content 를 contentLength 바이트만큼 읽어 key 로 저장하고 공개 URL 을 돌려준다.
+     * 스트림을 메모리나 임시 파일에 모으지 않고 그대로 흘려보낸다. 스트림은 호출한 쪽에서 닫는다.
+     */
+    String store(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    /**
+     * 저장한 이미지를 읽는다. 스트림은 호출한 쪽에서 닫는다.
+     */
+    InputStream open(String key) throws IOException;
+
+    /**
+     * key 가 없으면 아무것도 하지 않는다.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * key 로 저장했거나 저장할 이미지의 공개 URL. 저장소에 요청을 보내지 않는다.
+     */
+    String url(String key);
+}
@@ -0,0 +1,76 @@
+package com.qupp.config.storage;
+
+import com.amazonaws.services.s3.AmazonS3;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * qupp.image.storage 로 이미지 저장소를 고른다.
+ * s3(기본): cloud.aws.s3.bucket 버킷에 저장한다. qupp.image.s3.multipart-threshold 이상이면 part-size 단위 멀티파트로 올린다.
+ * local: qupp.image.local.root 디렉터리에 저장하고 qupp.image.local.base-url 로 URL 을 만든다.
+ */
+@Configuration
+public class ImageStorageConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "qupp.image.storage", havingValue = "s3", matchIfMissing = true)
+    public S3ImageStorage s3ImageStorage(
+            AmazonS3 amazonS3,
+            @Value("${cloud.aws.s3.bucket}") String bucket,
+            @Value("${qupp.image.s3.multipart-threshold:16MB}") DataSize multipartThreshold,
+            @Value("${qupp.image.s3.part-size:8MB}") DataSize partSize
+    ) {
+        return new S3ImageStorage(amazonS3, bucket, multipartThreshold.toBytes(), partSize.toBytes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "qupp.image.storage", havingValue = "local")
+    public ImageStorage localImageStorage(
+            @Value("${qupp.image.local.root:images}") String root,
+            @Value("${qupp.image.local.base-url:/images}") String baseUrl
+    ) {
+        return new LocalImageStorage(Path.of(root), baseUrl);
+    }
+
+    /**
+     * 여러 장을 한 번에 올릴 때 쓰는 스레드 풀. 대기열까지 차면 요청 스레드가 직접 올린다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageUploadExecutor(
+            @Value("${qupp.image.upload.threads:8}") int threads,
+            @Value("${qupp.image.upload.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * 업로드 후 썸네일/표시용 이미지를 만드는 스레드 풀. 대기열이 차면 변환을 건너뛴다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageVariantExecutor(
+            @Value("${qupp.image.variant.threads:2}") int threads,
+            @Value("${qupp.image.variant.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
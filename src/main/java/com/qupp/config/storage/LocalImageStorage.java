@@ -0,0 +1,63 @@
+package com.qupp.config.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 로컬 디렉터리에 저장한다. 테스트와 개발용.
+ * 받는 중인 파일은 보이지 않도록 같은 디렉터리의 .part 파일에 쓰고 다 받으면 이름을 바꾼다.
+ */
+public class LocalImageStorage implements ImageStorage {
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalImageStorage(Path root, String baseUrl) {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public String store(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            long copied = Files.copy(content, part, StandardCopyOption.REPLACE_EXISTING);
+            if (copied != contentLength) {
+                throw new IOException("이미지 크기가 맞지 않습니다. expected=" + contentLength + ", actual=" + copied);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+
+        return url(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String url(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 이미지 경로입니다.");
+        }
+        return path;
+    }
+}
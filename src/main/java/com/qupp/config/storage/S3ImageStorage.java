@@ -0,0 +1,85 @@
+package com.qupp.config.storage;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * S3 에 공개 읽기로 저장한다.
+ * Content-Length 를 알려주지 않으면 SDK 가 길이를 알기 위해 스트림 전체를 메모리에 읽으므로 반드시 함께 넘긴다.
+ * multipartThreshold 이상인 이미지는 TransferManager 가 partSize 단위의 멀티파트 업로드로 나눠 보내고,
+ * 그보다 작으면 한 번의 PUT 으로 보낸다.
+ */
+public class S3ImageStorage implements ImageStorage {
+    private final AmazonS3 amazonS3;
+    private final TransferManager transferManager;
+    private final String bucket;
+
+    public S3ImageStorage(AmazonS3 amazonS3, String bucket, long multipartThreshold, long partSize) {
+        this.amazonS3 = amazonS3;
+        this.bucket = bucket;
+        this.transferManager = TransferManagerBuilder.standard()
+                .withS3Client(amazonS3)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .withMinimumUploadPartSize(partSize)
+                .build();
+    }
+
+    @Override
+    public String store(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+
+        try {
+            transferManager.upload(new PutObjectRequest(bucket, key, content, metadata).withCannedAcl(CannedAccessControlList.PublicRead))
+                    .waitForCompletion();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("S3 업로드가 중단되었습니다. " + key);
+        } catch (AmazonClientException e) {
+            throw new IOException("S3 업로드에 실패했습니다. " + key, e);
+        }
+
+        return url(key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return amazonS3.getObject(bucket, key).getObjectContent();
+        } catch (AmazonClientException e) {
+            throw new IOException("S3 이미지를 읽지 못했습니다. " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            amazonS3.deleteObject(bucket, key);
+        } catch (AmazonClientException e) {
+            throw new IOException("S3 이미지를 지우지 못했습니다. " + key, e);
+        }
+    }
+
+    // getUrl 은 요청을 보내지 않고 URL 만 만든다.
+    @Override
+    public String url(String key) {
+        return amazonS3.getUrl(bucket, key).toString();
+    }
+
+    // AmazonS3 클라이언트는 다른 빈도 쓰므로 TransferManager 의 스레드 풀만 닫는다.
+    public void shutdown() {
+        transferManager.shutdownNow(false);
+    }
+}
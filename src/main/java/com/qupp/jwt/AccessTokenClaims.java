@@ -0,0 +1,32 @@
+package com.qupp.jwt;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 검증이 끝난 access token 의 클레임.
+ */
+@Getter
+public class AccessTokenClaims {
+    private final long id;
+    private final String email;
+    private final String nickname;
+    private final Set<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+    public AccessTokenClaims(Map<String, Object> body, Instant expiresAt) {
+        this.id = ((Number) body.get("id")).longValue();
+        this.email = (String) body.get("email");
+        this.nickname = (String) body.get("nickname");
+        this.authorities = UserContext.authoritiesOf(body.get("authorities"));
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -2,7 +2,7 @@ package com.qupp.jwt;
 
 import com.qupp.user.repository.User;
 import com.qupp.user.service.UserService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,44 +14,67 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Map;
 import java.util.NoSuchElementException;
 
-@RequiredArgsConstructor
 @Component
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
     private final JwtProvider jwtProvider;
     private final UserService userService;
+    private final UserStatusCache userStatusCache;
+    // true 면 검증된 클레임과 캐싱된 회원 상태로 인증하고, false 면 매 요청마다 회원을 조회한다.
+    private final boolean stateless;
+
+    public JwtAuthorizationFilter(
+            JwtProvider jwtProvider,
+            UserService userService,
+            UserStatusCache userStatusCache,
+            @Value("${security.jwt.stateless:true}") boolean stateless
+    ) {
+        this.jwtProvider = jwtProvider;
+        this.userService = userService;
+        this.userStatusCache = userStatusCache;
+        this.stateless = stateless;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String bearerToken = request.getHeader("Authorization");
 
-        if (bearerToken != null) {
+        // actuator 의 Basic 인증처럼 Bearer 가 아닌 헤더는 회원 토큰으로 보지 않는다.
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
             String token = bearerToken.substring("Bearer ".length());
 
-            if (jwtProvider.verify(token)) {
-                Map<String, Object> claims = jwtProvider.getClaims(token);
-                String email = (String) claims.get("email");
-                User user = userService.findByEmail(email).orElseThrow(
-                        () -> new NoSuchElementException("잘못된 접근입니다.")
-                );
-
-                forceAuthentication(user);
-            }
+            jwtProvider.verifyAndGetClaims(token).ifPresent(
+                    claims -> forceAuthentication(stateless ? fromClaims(claims) : fromDatabase(claims))
+            );
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private void forceAuthentication(User user) {
-        UserContext userContext = new UserContext(user);
+    private UserContext fromClaims(AccessTokenClaims claims) {
+        // 탈퇴했거나 이메일이 바뀐 회원의 토큰은 더 이상 유효하지 않다.
+        UserStatusCache.UserStatus status = userStatusCache.get(claims.getId())
+                .filter(s -> s.getEmail().equals(claims.getEmail()))
+                .orElseThrow(() -> new NoSuchElementException("잘못된 접근입니다."));
+
+        return new UserContext(claims.getId(), claims.getEmail(), status.getNickname(), claims.getAuthorities());
+    }
+
+    private UserContext fromDatabase(AccessTokenClaims claims) {
+        User user = userService.findByEmail(claims.getEmail()).orElseThrow(
+                () -> new NoSuchElementException("잘못된 접근입니다.")
+        );
+
+        return new UserContext(user);
+    }
 
+    private void forceAuthentication(UserContext userContext) {
         UsernamePasswordAuthenticationToken authenticationFilter =
                 UsernamePasswordAuthenticationToken.authenticated(
                         userContext,
                         null,
-                        user.getAuthorities()
+                        userContext.getAuthorities()
                 );
 
         SecurityContext context = SecurityContextHolder.createEmptyContext();
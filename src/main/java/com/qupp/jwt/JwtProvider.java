@@ -1,18 +1,47 @@
 package com.qupp.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtProvider {
     private final SecretKey jwtSecretKey;
+    // JwtParser 는 불변이라 스레드 간에 공유해도 안전하다.
+    private final JwtParser jwtParser;
+    // 최근에 검증한 토큰의 SHA-256 digest -> 클레임. 같은 토큰으로 반복 요청하면 서명 검증과 JSON 파싱을 건너뛴다.
+    private final Cache<String, AccessTokenClaims> verifiedTokens;
+
+    public JwtProvider(
+            SecretKey jwtSecretKey,
+            @Value("${security.jwt.verified-token-cache.max-size:10000}") long maxSize,
+            @Value("${security.jwt.verified-token-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.jwtSecretKey = jwtSecretKey;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(jwtSecretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
 
     private SecretKey getSecretKey() {
         return  jwtSecretKey;
@@ -29,12 +58,42 @@ public class JwtProvider {
                 .compact();
     }
 
+    /**
+     * 토큰을 한 번만 파싱해서 서명/만료를 검증하고 클레임을 꺼낸다. 유효하지 않은 토큰이면 empty.
+     */
+    public Optional<AccessTokenClaims> verifyAndGetClaims(String token) {
+        String digest = digest(token);
+        Instant now = Instant.now();
+
+        AccessTokenClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.invalidate(digest);
+            return Optional.empty();
+        }
+
+        AccessTokenClaims claims;
+        try {
+            Claims body = jwtParser.parseClaimsJws(token).getBody();
+            Date expiration = body.getExpiration();
+
+            claims = new AccessTokenClaims(
+                    Util.json.toMap(body.get("body", String.class)),
+                    expiration == null ? null : expiration.toInstant()
+            );
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+
+        verifiedTokens.put(digest, claims);
+        return Optional.of(claims);
+    }
+
     public boolean verify(String token) {
         try{
-            Jwts.parserBuilder()
-                    .setSigningKey(getSecretKey())
-                    .build()
-                    .parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
         } catch (Exception e) {
             return false;
         }
@@ -42,9 +101,7 @@ public class JwtProvider {
     }
 
     public Map<String, Object> getClaims(String token) {
-        String body = Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
+        String body = jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .get("body", String.class);
@@ -52,4 +109,13 @@ public class JwtProvider {
         return Util.json.toMap(body);
     }
 
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
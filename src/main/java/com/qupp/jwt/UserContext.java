@@ -3,9 +3,13 @@ package com.qupp.jwt;
 import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,4 +30,31 @@ public class UserContext extends User {
         authorities = user.getAuthorities().stream().collect(Collectors.toSet());
     }
 
+    public UserContext(long id, String email, String nickName, Collection<? extends GrantedAuthority> authorities) {
+        super(nickName, "", authorities);
+
+        this.id = id;
+        this.nickName = nickName;
+        this.email = email;
+        this.authorities = Set.copyOf(authorities);
+    }
+
+    /**
+     * 토큰의 authorities 클레임은 [{"authority": "USER"}] 형태로 직렬화되어 있다.
+     */
+    public static Set<GrantedAuthority> authoritiesOf(Object claim) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+
+        if (claim instanceof Collection<?> values) {
+            for (Object value : values) {
+                Object authority = value instanceof Map<?, ?> map ? map.get("authority") : value;
+                if (authority != null) {
+                    authorities.add(new SimpleGrantedAuthority(authority.toString()));
+                }
+            }
+        }
+
+        return authorities;
+    }
+
 }
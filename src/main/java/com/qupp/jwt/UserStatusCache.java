@@ -0,0 +1,72 @@
+package com.qupp.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qupp.user.repository.User;
+import com.qupp.user.repository.UserRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 토큰 인증 시 매 요청마다 회원을 조회하지 않도록 회원의 현재 상태(이메일, 닉네임, 탈퇴 여부)를 캐싱한다.
+ * 회원 정보가 바뀌면 {@link #evict(long)} 로 즉시 무효화하고, 그 밖의 변경은 TTL 이 지나면 반영된다.
+ */
+@Component
+public class UserStatusCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<UserStatus>> cache;
+
+    public UserStatusCache(
+            UserRepository userRepository,
+            @Value("${security.jwt.user-status-cache.max-size:10000}") long maxSize,
+            @Value("${security.jwt.user-status-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 탈퇴하지 않은 회원의 현재 상태. 탈퇴했거나 존재하지 않으면 empty.
+     */
+    public Optional<UserStatus> get(long id) {
+        return cache.get(id, key -> userRepository.findById(key).map(UserStatus::new));
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋 이후에 무효화해서, 커밋 전의 값이 다시 캐싱되지 않도록 한다.
+     */
+    public void evict(long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(id);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(id);
+            }
+        });
+    }
+
+    @Getter
+    public static class UserStatus {
+        private final String email;
+        private final String nickname;
+
+        private UserStatus(User user) {
+            this.email = user.getEmail();
+            this.nickname = user.getNickname();
+        }
+    }
+}
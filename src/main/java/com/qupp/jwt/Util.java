@@ -8,8 +8,16 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Util {
+    // ObjectMapper 는 스레드 안전하므로 한 번 찾은 빈을 계속 사용한다.
+    private static volatile ObjectMapper objectMapper;
+
     private static ObjectMapper getObjectMapper() {
-        return (ObjectMapper) AppConfig.getContext().getBean("objectMapper");
+        ObjectMapper mapper = objectMapper;
+        if (mapper == null) {
+            mapper = (ObjectMapper) AppConfig.getContext().getBean("objectMapper");
+            objectMapper = mapper;
+        }
+        return mapper;
     }
 
     public static class json {
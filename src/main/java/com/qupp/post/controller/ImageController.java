@@ -1,6 +1,7 @@
 package com.qupp.post.controller;
 
 import com.qupp.post.dto.response.ResponseImage;
+import com.qupp.post.dto.response.ResponseImageUpload;
 import com.qupp.post.service.ImageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @Tag(name = "image", description = "이미지 API")
 @RequiredArgsConstructor
 @RestController
@@ -29,14 +32,27 @@ public class ImageController {
             @Parameter(name = "directory", description = "사진이 저장될 폴더 경로", example = "question or answer")
             @RequestParam(value = "directory") String directory
     ) {
-        String url = new String();
+        ResponseImage responseImage = new ResponseImage();
+        responseImage.setUrl("");
         if(directory.equals("question") || directory.equals("answer")) {
-            url = imageService.upload(image, directory);
+            responseImage = imageService.upload(image, directory);
         }
 
-        ResponseImage responseImage = new ResponseImage();
-        responseImage.setUrl(url);
-
         return ResponseEntity.ok(responseImage);
     }
+
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "이미지 여러 장 등록 , 접근 제한 API", description = "이미지를 동시에 올리고 입력 순서대로 파일별 URL 또는 실패 사유를 돌려준다.", tags = "image")
+    @PostMapping("/images")
+    public ResponseEntity<List<ResponseImageUpload>> registerAll(
+            @RequestPart(value = "images") List<MultipartFile> images,
+            @Parameter(name = "directory", description = "사진이 저장될 폴더 경로", example = "question or answer")
+            @RequestParam(value = "directory") String directory
+    ) {
+        if (!directory.equals("question") && !directory.equals("answer")) {
+            throw new IllegalArgumentException("잘못된 폴더 경로입니다.");
+        }
+
+        return ResponseEntity.ok(imageService.upload(images, directory));
+    }
 }
@@ -1,12 +1,19 @@
 package com.qupp.post.controller;
 
+import com.qupp.jwt.UserContext;
+import com.qupp.post.dto.inner.QuestionValidator;
 import com.qupp.post.dto.inner.ResponseCategory;
 import com.qupp.post.dto.request.RequestRegisterQuestion;
 import com.qupp.post.dto.request.RequestUpdateQuestion;
+import com.qupp.post.dto.response.ResponseCursorPage;
 import com.qupp.post.dto.response.ResponsePost;
 import com.qupp.post.dto.response.ResponseQuestion;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.College;
 import com.qupp.post.service.CategoryService;
+import com.qupp.post.service.QuestionExportService;
 import com.qupp.post.service.QuestionService;
+import com.qupp.post.service.TrendingRanking;
 import com.qupp.post.service.SubCategoryService;
 import com.qupp.user.controller.dto.response.ResponseUser;
 import com.qupp.user.service.UserService;
@@ -18,7 +25,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,18 +37,29 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 @Tag(name = "question", description = "질문글 API")
 @RequiredArgsConstructor
 @RestController
 public class QuestionController {
 
+    // 비로그인 조회 응답은 프록시에 저장해도 되지만, 사용하기 전에 항상 ETag 로 재검증하도록 한다.
+    private static final CacheControl PUBLIC_READ = CacheControl.noCache().cachePublic();
+
     private final QuestionService questionService;
     private final UserService userService;
     private final CategoryService categoryService;
     private final SubCategoryService subCategoryService;
+    private final QuestionExportService questionExportService;
+    private final TrendingRanking trendingRanking;
 
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "질문글 등록 , 접근 제한 API", description = "질문글의 정보를 입력받아 등록한다.", tags = "question")
@@ -61,28 +81,97 @@ public class QuestionController {
     @GetMapping("/question/{id}")
     public ResponseEntity<ResponsePost> findOne(
             @Parameter(name = "id", description = "번호", in = ParameterIn.PATH)
-            @PathVariable("id") long id
+            @PathVariable("id") long id,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserContext userContext,
+            HttpServletRequest request,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(questionService.getResponsePost(id));
+        QuestionValidator validator = questionService.getValidator(id);
+        String viewer = viewer(userContext, request);
+
+        // 클라이언트가 가진 응답이 최신이면 본문을 만들지 않고 304 로 응답한다. 조회 수는 그대로 센다.
+        if (webRequest.checkNotModified(validator.getETag(), validator.getLastModified())) {
+            questionService.recordView(id, viewer);
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(PUBLIC_READ)
+                .body(questionService.view(id, viewer));
     }
 
     @PreAuthorize("isAnonymous()")
-    @Operation(summary = "질문 리스트", description = "전체 질문 조회 - 답변에 대한 정보는 담기지 않음", tags = "question")
+    @Operation(summary = "질문 리스트", description = "전체 질문 조회 - 답변에 대한 정보는 담기지 않고 답변/댓글 수만 포함", tags = "question")
     @GetMapping("/questions")
-    public ResponseEntity<Page<ResponsePost>> findAll(
+    public ResponseEntity<Page<ResponseQuestionSummary>> findAll(
             @Parameter(name = "page", description = "페이지 번호", in = ParameterIn.PATH)
             @RequestParam(value = "page", defaultValue = "0") int page,
             @Parameter(name = "category", description = "카테고리", in = ParameterIn.PATH)
-            @RequestParam(value = "category", defaultValue = "0") String category) {
+            @RequestParam(value = "category", defaultValue = "0") String category,
+            WebRequest webRequest) {
         PageRequest pageRequest = PageRequest.of(page, 10, Sort.by("registerTime").descending());
 
         Long categoryId = categoryService.findByCollege(category);
 
-        if (categoryId == null) {
-            return ResponseEntity.ok(questionService.findAll(pageRequest));
+        QuestionValidator validator = questionService.getListValidator(categoryId, pageRequest);
+
+        if (webRequest.checkNotModified(validator.getETag(), validator.getLastModified())) {
+            return null;
         }
 
-        return ResponseEntity.ok(questionService.pagingByCategory(categoryId, pageRequest));
+        Page<ResponseQuestionSummary> questions = categoryId == null
+                ? questionService.findAll(pageRequest)
+                : questionService.pagingByCategory(categoryId, pageRequest);
+
+        return ResponseEntity.ok()
+                .cacheControl(PUBLIC_READ)
+                .body(questions);
+    }
+
+    @PreAuthorize("isAnonymous()")
+    @Operation(summary = "질문 리스트 (커서)", description = "전체 질문 조회 - OFFSET 없이 nextCursor 로 다음 페이지를 조회, 첫 페이지는 cursor 생략", tags = "question")
+    @GetMapping("/questions/cursor")
+    public ResponseEntity<ResponseCursorPage<ResponseQuestionSummary>> findAllByCursor(
+            @Parameter(name = "cursor", description = "이전 응답의 nextCursor", in = ParameterIn.QUERY)
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(name = "category", description = "카테고리", in = ParameterIn.QUERY)
+            @RequestParam(value = "category", defaultValue = "0") String category) {
+        Long categoryId = categoryService.findByCollege(category);
+
+        return ResponseEntity.ok(questionService.findAllByCursor(categoryId, cursor, 10));
+    }
+
+    @PreAuthorize("isAnonymous()")
+    @Operation(summary = "인기 질문", description = "최근 답변/댓글/조회가 많은 질문 - 시간이 지날수록 점수가 줄어듦, category 생략 시 전체 대분류", tags = "question")
+    @GetMapping("/questions/trending")
+    public ResponseEntity<List<ResponseQuestionSummary>> findTrending(
+            @Parameter(name = "category", description = "대분류", in = ParameterIn.QUERY)
+            @RequestParam(value = "category", defaultValue = "0") String category,
+            @Parameter(name = "size", description = "개수", in = ParameterIn.QUERY)
+            @RequestParam(value = "size", defaultValue = "10") int size) {
+        if (size < 1 || size > trendingRanking.getCapacity()) {
+            throw new IllegalArgumentException("size 는 1 ~ %d 사이여야 합니다.".formatted(trendingRanking.getCapacity()));
+        }
+
+        College college = null;
+        if (!"0".equals(category)) {
+            college = Arrays.stream(College.values())
+                    .filter(c -> c.value().equals(category))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 대분류입니다."));
+        }
+
+        return ResponseEntity.ok(questionService.findTrending(college, size));
+    }
+
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @Operation(summary = "질문 전체 내보내기 , 관리자 API", description = "삭제되지 않은 모든 질문을 답변/댓글과 함께 한 줄에 한 질문씩 NDJSON 으로 스트리밍", tags = "question")
+    @GetMapping(value = "/questions/export", produces = "application/x-ndjson")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        questionExportService.export(response.getOutputStream());
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -107,4 +196,9 @@ public class QuestionController {
 
         return ResponseEntity.noContent().build();
     }
+
+    // 고유 조회자 구분값. 회원은 회원 번호, 그 외에는 IP.
+    private String viewer(UserContext userContext, HttpServletRequest request) {
+        return userContext != null ? "user:" + userContext.getId() : "ip:" + request.getRemoteAddr();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.qupp.post.dto.inner;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 질문 목록 커서 페이징의 위치. (registerTime, id) 를 클라이언트에게는 불투명한 토큰으로 전달한다.
+ */
+@Getter
+public class QuestionCursor {
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime registerTime;
+    private final long id;
+
+    public QuestionCursor(LocalDateTime registerTime, long id) {
+        this.registerTime = registerTime;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = registerTime + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static QuestionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+
+            return new QuestionCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.qupp.post.dto.inner;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카테고리별 질문 목록의 상태. 등록/삭제/수정/답변/댓글 모두 개수, 가장 큰 번호, 가장 최근 변경 시각 중 하나를 바꾼다.
+ * 다른 인스턴스나 일괄 등록으로 목록이 바뀌었는지 주기적으로 확인할 때 사용한다.
+ */
+@Getter
+@EqualsAndHashCode
+public class QuestionListState {
+    private final Long categoryId;
+    private final long count;
+    private final Long maxId;
+    private final LocalDateTime maxModifiedTime;
+
+    public QuestionListState(Long categoryId, long count, Long maxId, LocalDateTime maxModifiedTime) {
+        this.categoryId = categoryId;
+        this.count = count;
+        this.maxId = maxId;
+        this.maxModifiedTime = maxModifiedTime;
+    }
+}
@@ -0,0 +1,37 @@
+package com.qupp.post.dto.inner;
+
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조건부 조회(If-None-Match / If-Modified-Since)에 사용하는 검증자.
+ * 응답 본문을 만들지 않고도 클라이언트가 가진 응답이 최신인지 판단할 수 있다.
+ */
+@Getter
+public class QuestionValidator {
+    private final String eTag;
+    private final long lastModified;
+
+    public QuestionValidator(String eTag, LocalDateTime lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified == null
+                ? -1
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 질문 상세: 질문 번호 + 리비전
+    public static QuestionValidator ofQuestion(long id, long revision, LocalDateTime modifiedTime) {
+        return new QuestionValidator(id + "-" + revision, modifiedTime);
+    }
+
+    // 질문 목록: 목록 버전 + 카테고리 + 페이지. 버전은 QuestionListVersions 가 목록이 바뀔 때마다 올린다.
+    public static QuestionValidator ofList(String version, Long categoryId, Pageable pageable, LocalDateTime modifiedTime) {
+        return new QuestionValidator(
+                "list-" + version + "-" + (categoryId == null ? "all" : categoryId) + "-" + pageable.getPageNumber() + "-" + pageable.getPageSize(),
+                modifiedTime
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.qupp.post.dto.inner;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인기 질문 점수에 반영할 활동 하나. 시작 시 DB 에서 최근 활동을 읽어 점수를 다시 만들 때 사용한다.
+ */
+@Getter
+public class TrendingEvent {
+    public enum Type {
+        QUESTION, ANSWER, COMMENT, VIEW
+    }
+
+    private final long questionId;
+    private final String college;
+    private final LocalDateTime time;
+    private final Type type;
+
+    public TrendingEvent(long questionId, String college, LocalDateTime time, Type type) {
+        this.questionId = questionId;
+        this.college = college;
+        this.time = time;
+        this.type = type;
+    }
+}
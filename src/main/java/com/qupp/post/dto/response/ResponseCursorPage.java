@@ -0,0 +1,27 @@
+package com.qupp.post.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Schema(description = "커서 페이징 응답 폼")
+public class ResponseCursorPage<T> {
+    @Schema(description = "목록")
+    private List<T> content;
+
+    @Schema(description = "다음 페이지 커서, 마지막 페이지면 null")
+    private String nextCursor;
+
+    @Schema(description = "다음 페이지 존재 여부")
+    private boolean hasNext;
+
+    public ResponseCursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
@@ -1,8 +1,18 @@
 package com.qupp.post.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
 @Data
 public class ResponseImage {
     private String url;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "목록용 작은 JPEG. 업로드 직후 비동기로 만들어지므로 만들어지기 전에는 원본 URL", type = "String")
+    private String thumbnailUrl;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "본문 표시용으로 폭을 줄인 JPEG. 업로드 직후 비동기로 만들어지므로 만들어지기 전에는 원본 URL", type = "String")
+    private String displayUrl;
 }
@@ -0,0 +1,38 @@
+package com.qupp.post.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "여러 장 업로드 결과 - 파일마다 url 또는 error 중 하나가 채워진다")
+public class ResponseImageUpload {
+
+    @Schema(description = "원본 파일 이름", type = "String", example = "screenshot.png")
+    private String fileName;
+
+    @Schema(description = "저장된 이미지 URL", type = "String")
+    private String url;
+
+    @Schema(description = "목록용 작은 JPEG", type = "String")
+    private String thumbnailUrl;
+
+    @Schema(description = "본문 표시용으로 폭을 줄인 JPEG", type = "String")
+    private String displayUrl;
+
+    @Schema(description = "실패 사유", type = "String")
+    private String error;
+
+    public static ResponseImageUpload success(String fileName, ResponseImage image) {
+        return new ResponseImageUpload(fileName, image.getUrl(), image.getThumbnailUrl(), image.getDisplayUrl(), null);
+    }
+
+    public static ResponseImageUpload failure(String fileName, String error) {
+        return new ResponseImageUpload(fileName, null, null, null, error);
+    }
+}
@@ -1,5 +1,7 @@
 package com.qupp.post.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.qupp.post.dto.inner.QuestionValidator;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +19,11 @@ public class ResponsePost {
     @Schema(description = "답변 정보")
     List<ResponseAnswer> answers;
 
+    // 응답을 만든 시점의 ETag / Last-Modified. 응답 본문에는 포함하지 않는다.
+    @JsonIgnore
+    @Schema(hidden = true)
+    QuestionValidator validator;
+
     public ResponsePost(ResponseQuestion question, List<ResponseAnswer> answers) {
         this.question = question;
         this.answers = answers;
@@ -45,6 +45,14 @@ public class ResponseQuestion {
     @Schema(description = "댓글")
     private List<ResponseComment> comments;
 
+    // 조회 수는 질문 리비전을 올리지 않으므로 상세 ETag 가 바뀌지 않는다.
+    // 304 로 재검증하는 클라이언트는 질문 스레드가 바뀔 때까지 처음 받은 값을 계속 보여준다.
+    @Schema(description = "조회 수 (304 재검증 중에는 갱신되지 않음)")
+    private long viewCount;
+
+    @Schema(description = "고유 조회자 수 (추정값, 304 재검증 중에는 갱신되지 않음)")
+    private long viewerCount;
+
     public ResponseQuestion fromEntity(Question q) {
         return ResponseQuestion.builder()
                 .id(q.getId())
@@ -52,6 +60,8 @@ public class ResponseQuestion {
                 .content(q.getContent())
                 .registerTime(q.getRegisterTime())
                 .updateTime(q.getUpdateTime())
+                .viewCount(q.getViewCount())
+                .viewerCount(q.getViewerCount())
                 .build();
     }
 
@@ -67,11 +77,14 @@ public class ResponseQuestion {
     }
 
     @Builder
-    public ResponseQuestion(long id, String title, String content, LocalDateTime registerTime, LocalDateTime updateTime) {
+    public ResponseQuestion(long id, String title, String content, LocalDateTime registerTime, LocalDateTime updateTime,
+                            long viewCount, long viewerCount) {
         this.id = id;
         this.title = title;
         this.content = content;
         this.registerTime = registerTime;
         this.updateTime = updateTime;
+        this.viewCount = viewCount;
+        this.viewerCount = viewerCount;
     }
 }
@@ -0,0 +1,71 @@
+package com.qupp.post.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@Schema(description = "질문 목록 응답 폼")
+public class ResponseQuestionSummary {
+    public static final int EXCERPT_LENGTH = 100;
+
+    @Schema(description = "번호")
+    private long id;
+
+    @Schema(description = "제목")
+    private String title;
+
+    @Schema(description = "내용 미리보기")
+    private String excerpt;
+
+    @Schema(description = "작성자 닉네임")
+    private String author;
+
+    @Schema(description = "대분류")
+    private String category;
+
+    @Schema(description = "소분류")
+    private String subCategory;
+
+    @Schema(description = "등록시각")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "Asia/Seoul")
+    private LocalDateTime registerTime;
+
+    @Schema(description = "수정시각")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "Asia/Seoul")
+    private LocalDateTime updateTime;
+
+    @Schema(description = "답변 수")
+    private long answerCount;
+
+    @Schema(description = "질문 댓글 수")
+    private long commentCount;
+
+    @Schema(description = "조회 수")
+    private long viewCount;
+
+    @Schema(description = "고유 조회자 수 (추정값)")
+    private long viewerCount;
+
+    // Querydsl 생성자 프로젝션용
+    public ResponseQuestionSummary(long id, String title, String excerpt, String author, String category, String subCategory,
+                                   LocalDateTime registerTime, LocalDateTime updateTime, Long answerCount, Long commentCount,
+                                   Long viewCount, Long viewerCount) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.author = author;
+        this.category = category;
+        this.subCategory = subCategory;
+        this.registerTime = registerTime;
+        this.updateTime = updateTime;
+        this.answerCount = answerCount == null ? 0 : answerCount;
+        this.commentCount = commentCount == null ? 0 : commentCount;
+        this.viewCount = viewCount == null ? 0 : viewCount;
+        this.viewerCount = viewerCount == null ? 0 : viewerCount;
+    }
+}
@@ -0,0 +1,33 @@
+package com.qupp.post.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * qupp.import.file 이 지정되면 시작 시 그 파일을 가져온다.
+ * java -jar qupp.jar --qupp.import.file=legacy.ndjson --spring.main.web-application-type=none
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "qupp.import.file")
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService bulkImportService;
+
+    @Value("${qupp.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportReport report = bulkImportService.importFile(file);
+        log.info("import finished {}: {}", file, report);
+    }
+}
@@ -0,0 +1,82 @@
+package com.qupp.post.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.post.service.CategoryRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NDJSON/CSV 파일의 질문, 답변, 댓글을 가져온다.
+ * commit-interval 개의 질문마다 한 트랜잭션으로 저장하고 체크포인트를 남기므로,
+ * 중간에 실패해도 같은 파일로 다시 실행하면 마지막으로 커밋된 위치 다음부터 이어서 가져온다.
+ * 카테고리는 CategoryRegistry 로 찾으므로 시작할 때 최신 카테고리를 다시 읽는다.
+ */
+@Slf4j
+@Service
+public class BulkImportService {
+
+    private final BulkImportWriter bulkImportWriter;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final CategoryRegistry categoryRegistry;
+    private final ObjectMapper objectMapper;
+    private final int commitInterval;
+
+    public BulkImportService(
+            BulkImportWriter bulkImportWriter,
+            ImportCheckpointRepository importCheckpointRepository,
+            CategoryRegistry categoryRegistry,
+            ObjectMapper objectMapper,
+            @Value("${qupp.import.commit-interval:1000}") int commitInterval
+    ) {
+        this.bulkImportWriter = bulkImportWriter;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.categoryRegistry = categoryRegistry;
+        this.objectMapper = objectMapper;
+        this.commitInterval = commitInterval;
+    }
+
+    public ImportReport importFile(Path path) throws IOException {
+        categoryRegistry.refresh();
+
+        String source = path.toAbsolutePath().normalize().toString();
+        long position = importCheckpointRepository.findById(source)
+                .map(ImportCheckpoint::getPosition)
+                .orElse(0L);
+
+        if (position > 0) {
+            log.info("resuming import of {} after {} records", source, position);
+        }
+
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+
+        try (ImportSource records = ImportSource.open(path, objectMapper)) {
+            for (long skipped = 0; skipped < position && records.hasNext(); skipped++) {
+                records.next();
+            }
+
+            List<ImportQuestion> chunk = new ArrayList<>(commitInterval);
+            while (records.hasNext()) {
+                chunk.add(records.next());
+
+                if (chunk.size() == commitInterval || !records.hasNext()) {
+                    position += chunk.size();
+                    report.add(bulkImportWriter.write(source, position, chunk));
+                    chunk.clear();
+
+                    report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+                    log.info("imported {}: {}", source, report);
+                }
+            }
+        }
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+}
@@ -0,0 +1,201 @@
+package com.qupp.post.importer;
+
+import com.qupp.config.id.IdGenerator;
+import com.qupp.post.repository.Category;
+import com.qupp.post.service.CategoryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 질문 묶음 하나를 한 트랜잭션으로 저장한다.
+ * 엔티티를 거치지 않고 테이블마다 여러 행을 한 번에 넣는 INSERT 를 batch-size 행 단위로 실행한다.
+ * id 는 IdGenerator 에서 미리 받아 두므로 생성된 키를 돌려받지 않고 바로 다음 테이블의 외래 키로 쓴다.
+ * 체크포인트도 같은 트랜잭션에서 갱신한다.
+ */
+@Component
+public class BulkImportWriter {
+    private static final List<String> QUESTION_COLUMNS = List.of(
+            "id", "title", "content", "register_time", "update_time", "modified_time", "deleted",
+            "revision", "answer_count", "comment_count", "user_id", "category_id");
+    private static final List<String> ANSWER_COLUMNS = List.of(
+            "id", "content", "register_time", "update_time", "deleted", "comment_count", "user_id", "question_id");
+    private static final List<String> COMMENT_COLUMNS = List.of(
+            "id", "comment", "register_time", "update_time", "deleted", "user_id", "question_id", "answer_id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final CategoryRegistry categoryRegistry;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final IdGenerator idGenerator;
+    private final int batchSize;
+
+    public BulkImportWriter(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            CategoryRegistry categoryRegistry,
+            ImportCheckpointRepository importCheckpointRepository,
+            IdGenerator idGenerator,
+            @Value("${qupp.import.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.categoryRegistry = categoryRegistry;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.idGenerator = idGenerator;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public ImportReport write(String source, long position, List<ImportQuestion> records) {
+        ImportReport report = new ImportReport();
+        report.addRecords(records.size());
+
+        Map<String, Long> users = findUserIds(records);
+
+        List<ImportQuestion> questions = new ArrayList<>();
+        List<Long> questionIds = new ArrayList<>();
+        List<Object[]> questionRows = new ArrayList<>();
+        for (ImportQuestion record : records) {
+            Long userId = users.get(record.getAuthor());
+            Long categoryId = categoryId(record).orElse(null);
+            if (userId == null || categoryId == null) {
+                report.addSkipped(1);
+                continue;
+            }
+
+            List<ImportAnswer> answers = record.getAnswers().stream().filter(a -> users.containsKey(a.getAuthor())).toList();
+            List<ImportComment> comments = record.getComments().stream().filter(c -> users.containsKey(c.getAuthor())).toList();
+            report.addSkipped(record.getAnswers().size() - answers.size() + record.getComments().size() - comments.size());
+            record.setAnswers(answers);
+            record.setComments(comments);
+
+            long questionId = idGenerator.nextId("question");
+            questions.add(record);
+            questionIds.add(questionId);
+            questionRows.add(new Object[]{
+                    questionId, record.getTitle(), record.getContent(), record.getRegisterTime(), updateTime(record.getUpdateTime(), record.getRegisterTime()),
+                    updateTime(record.getUpdateTime(), record.getRegisterTime()), false, 0L, (long) answers.size(), (long) comments.size(),
+                    userId, categoryId
+            });
+        }
+
+        insert("question", QUESTION_COLUMNS, questionRows);
+
+        List<ImportAnswer> answers = new ArrayList<>();
+        List<Long> answerIds = new ArrayList<>();
+        List<Object[]> answerRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            long questionId = questionIds.get(i);
+
+            for (ImportAnswer answer : questions.get(i).getAnswers()) {
+                List<ImportComment> comments = answer.getComments().stream().filter(c -> users.containsKey(c.getAuthor())).toList();
+                report.addSkipped(answer.getComments().size() - comments.size());
+                answer.setComments(comments);
+
+                long answerId = idGenerator.nextId("answer");
+                answers.add(answer);
+                answerIds.add(answerId);
+                answerRows.add(new Object[]{
+                        answerId, answer.getContent(), answer.getRegisterTime(), updateTime(answer.getUpdateTime(), answer.getRegisterTime()),
+                        false, (long) comments.size(), users.get(answer.getAuthor()), questionId
+                });
+            }
+
+            for (ImportComment comment : questions.get(i).getComments()) {
+                commentRows.add(commentRow(comment, users, questionId, null));
+            }
+        }
+
+        insert("answer", ANSWER_COLUMNS, answerRows);
+
+        for (int i = 0; i < answers.size(); i++) {
+            for (ImportComment comment : answers.get(i).getComments()) {
+                commentRows.add(commentRow(comment, users, null, answerIds.get(i)));
+            }
+        }
+
+        insert("comment", COMMENT_COLUMNS, commentRows);
+
+        importCheckpointRepository.save(new ImportCheckpoint(source, position));
+
+        report.addQuestions(questionRows.size());
+        report.addAnswers(answerRows.size());
+        report.addComments(commentRows.size());
+        return report;
+    }
+
+    // 묶음에 나오는 모든 작성자를 닉네임으로 한 번에 조회한다.
+    private Map<String, Long> findUserIds(List<ImportQuestion> records) {
+        Set<String> nicknames = new HashSet<>();
+        for (ImportQuestion record : records) {
+            nicknames.add(record.getAuthor());
+            record.getComments().forEach(c -> nicknames.add(c.getAuthor()));
+            for (ImportAnswer answer : record.getAnswers()) {
+                nicknames.add(answer.getAuthor());
+                answer.getComments().forEach(c -> nicknames.add(c.getAuthor()));
+            }
+        }
+        nicknames.remove(null);
+
+        Map<String, Long> users = new HashMap<>();
+        List<String> names = new ArrayList<>(nicknames);
+        for (int from = 0; from < names.size(); from += batchSize) {
+            namedParameterJdbcTemplate.query(
+                    "select id, nickname from user where nickname in (:nicknames) and deleted = false",
+                    new MapSqlParameterSource("nicknames", names.subList(from, Math.min(from + batchSize, names.size()))),
+                    rs -> {
+                        users.put(rs.getString("nickname"), rs.getLong("id"));
+                    });
+        }
+        return users;
+    }
+
+    private Optional<Long> categoryId(ImportQuestion record) {
+        return categoryRegistry.findByCollege(record.getCategory())
+                .or(() -> categoryRegistry.findByDept(record.getSubCategory()))
+                .map(Category::getId);
+    }
+
+    private Object[] commentRow(ImportComment comment, Map<String, Long> users, Long questionId, Long answerId) {
+        return new Object[]{
+                idGenerator.nextId("comment"), comment.getComment(), comment.getRegisterTime(), updateTime(comment.getUpdateTime(), comment.getRegisterTime()),
+                false, users.get(comment.getAuthor()), questionId, answerId
+        };
+    }
+
+    private LocalDateTime updateTime(LocalDateTime updateTime, LocalDateTime registerTime) {
+        return updateTime == null ? registerTime : updateTime;
+    }
+
+    /*
+    INSERT INTO table (c1, c2, ...) VALUES (?, ?, ...), (?, ?, ...), ...
+    batch-size 행씩 한 문장으로 넣는다.
+     */
+    private void insert(String table, List<String> columns, List<Object[]> rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values "
+                    + String.join(", ", Collections.nCopies(batch.size(), row));
+
+            jdbcTemplate.update(sql, batch.stream().flatMap(Arrays::stream).toArray());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.qupp.post.importer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 헤더가 있는 CSV 파일. 한 행이 질문, 답변, 댓글 중 하나이며 질문 행 다음에 그 질문의 답변/댓글 행이 이어진다.
+ * <pre>
+ * type,ref,parent_ref,author,category,sub_category,title,content,register_time,update_time
+ * question,q1,,kim,Humanities,Humanities,제목,내용,2022-01-01T10:00,2022-01-01T10:00
+ * answer,a1,q1,lee,,,,답변,2022-01-01T11:00,2022-01-01T11:00
+ * question_comment,c1,q1,park,,,,댓글,2022-01-01T12:00,2022-01-01T12:00
+ * answer_comment,c2,a1,kim,,,,답변 댓글,2022-01-01T13:00,2022-01-01T13:00
+ * </pre>
+ */
+class CsvImportSource implements ImportSource {
+    private final Reader reader;
+    private final MappingIterator<Row> rows;
+    private Row pending;
+
+    CsvImportSource(Path path) throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.registerModule(new JavaTimeModule());
+
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.rows = csvMapper.readerFor(Row.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pending != null || rows.hasNext();
+    }
+
+    @Override
+    public ImportQuestion next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Row first = pending != null ? pending : rows.next();
+        pending = null;
+
+        if (!"question".equals(first.getType())) {
+            throw new IllegalArgumentException("질문 행 없이 %s 행(%s)이 나왔습니다.".formatted(first.getType(), first.getRef()));
+        }
+
+        ImportQuestion question = new ImportQuestion();
+        question.setTitle(first.getTitle());
+        question.setContent(first.getContent());
+        question.setAuthor(first.getAuthor());
+        question.setCategory(first.getCategory());
+        question.setSubCategory(first.getSubCategory());
+        question.setRegisterTime(first.getRegisterTime());
+        question.setUpdateTime(first.getUpdateTime());
+
+        Map<String, ImportAnswer> answers = new HashMap<>();
+
+        while (rows.hasNext()) {
+            Row row = rows.next();
+
+            switch (row.getType()) {
+                case "question" -> {
+                    pending = row;
+                    return question;
+                }
+                case "answer" -> {
+                    ImportAnswer answer = new ImportAnswer();
+                    answer.setContent(row.getContent());
+                    answer.setAuthor(row.getAuthor());
+                    answer.setRegisterTime(row.getRegisterTime());
+                    answer.setUpdateTime(row.getUpdateTime());
+                    question.getAnswers().add(answer);
+                    answers.put(row.getRef(), answer);
+                }
+                case "question_comment" -> question.getComments().add(row.toComment());
+                case "answer_comment" -> {
+                    ImportAnswer answer = answers.get(row.getParentRef());
+                    if (answer == null) {
+                        throw new IllegalArgumentException("댓글(%s)의 답변(%s)이 앞에 없습니다.".formatted(row.getRef(), row.getParentRef()));
+                    }
+                    answer.getComments().add(row.toComment());
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 행 종류입니다: " + row.getType());
+            }
+        }
+
+        return question;
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+        reader.close();
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class Row {
+        private String type;
+        private String ref;
+        @JsonProperty("parent_ref")
+        private String parentRef;
+        private String author;
+        private String category;
+        @JsonProperty("sub_category")
+        private String subCategory;
+        private String title;
+        private String content;
+        @JsonProperty("register_time")
+        private LocalDateTime registerTime;
+        @JsonProperty("update_time")
+        private LocalDateTime updateTime;
+
+        ImportComment toComment() {
+            ImportComment comment = new ImportComment();
+            comment.setComment(content);
+            comment.setAuthor(author);
+            comment.setRegisterTime(registerTime);
+            comment.setUpdateTime(updateTime);
+            return comment;
+        }
+    }
+}
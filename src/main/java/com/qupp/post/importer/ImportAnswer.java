@@ -0,0 +1,20 @@
+package com.qupp.post.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportAnswer {
+    private String content;
+    private String author;
+    private LocalDateTime registerTime;
+    private LocalDateTime updateTime;
+    private List<ImportComment> comments = new ArrayList<>();
+}
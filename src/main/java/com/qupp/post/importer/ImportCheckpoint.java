@@ -0,0 +1,33 @@
+package com.qupp.post.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+/**
+ * 파일별로 커밋까지 끝난 질문 수. 가져온 행과 같은 트랜잭션에서 갱신되므로 실패 후 다시 실행하면 이어서 가져온다.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class ImportCheckpoint {
+
+    @Id
+    private String source;
+
+    @Column(nullable = false)
+    private long position;
+
+    @Column(nullable = false)
+    private LocalDateTime updateTime;
+
+    public ImportCheckpoint(String source, long position) {
+        this.source = source;
+        this.position = position;
+        this.updateTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.qupp.post.importer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
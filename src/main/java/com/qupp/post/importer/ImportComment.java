@@ -0,0 +1,17 @@
+package com.qupp.post.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportComment {
+    private String comment;
+    private String author;
+    private LocalDateTime registerTime;
+    private LocalDateTime updateTime;
+}
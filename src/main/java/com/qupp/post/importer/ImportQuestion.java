@@ -0,0 +1,28 @@
+package com.qupp.post.importer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 가져올 질문 한 건. 작성자는 닉네임, 분류는 대분류(category)/소분류(subCategory) 이름으로 지정한다.
+ * GET /questions/export 가 내보내는 한 줄과 같은 형식이다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ImportQuestion {
+    private String title;
+    private String content;
+    private String author;
+    private String category;
+    private String subCategory;
+    private LocalDateTime registerTime;
+    private LocalDateTime updateTime;
+    private List<ImportComment> comments = new ArrayList<>();
+    private List<ImportAnswer> answers = new ArrayList<>();
+}
@@ -0,0 +1,62 @@
+package com.qupp.post.importer;
+
+import lombok.Getter;
+
+/**
+ * 가져오기 결과. skipped 는 작성자나 질문의 카테고리를 찾지 못해 건너뛴 글(질문이면 그 답변/댓글 포함) 수.
+ */
+@Getter
+public class ImportReport {
+    private long records;
+    private long questions;
+    private long answers;
+    private long comments;
+    private long skipped;
+    private long elapsedMillis;
+
+    void add(ImportReport chunk) {
+        records += chunk.records;
+        questions += chunk.questions;
+        answers += chunk.answers;
+        comments += chunk.comments;
+        skipped += chunk.skipped;
+    }
+
+    void addRecords(long records) {
+        this.records += records;
+    }
+
+    void addQuestions(long questions) {
+        this.questions += questions;
+    }
+
+    void addAnswers(long answers) {
+        this.answers += answers;
+    }
+
+    void addComments(long comments) {
+        this.comments += comments;
+    }
+
+    void addSkipped(long skipped) {
+        this.skipped += skipped;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRows() {
+        return questions + answers + comments;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0 : getRows() * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "records=%d, questions=%d, answers=%d, comments=%d, skipped=%d, elapsed=%dms, rows/sec=%.1f"
+                .formatted(records, questions, answers, comments, skipped, elapsedMillis, getRowsPerSecond());
+    }
+}
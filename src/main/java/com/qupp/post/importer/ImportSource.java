@@ -0,0 +1,22 @@
+package com.qupp.post.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * 가져올 질문을 파일에서 한 건씩 순서대로 읽는다. 파일 전체를 메모리에 올리지 않는다.
+ */
+public interface ImportSource extends Iterator<ImportQuestion>, Closeable {
+
+    // 확장자가 .csv 이면 CSV, 그 밖에는 NDJSON 으로 읽는다.
+    static ImportSource open(Path path, ObjectMapper objectMapper) throws IOException {
+        if (path.getFileName().toString().toLowerCase().endsWith(".csv")) {
+            return new CsvImportSource(path);
+        }
+        return new NdjsonImportSource(path, objectMapper);
+    }
+}
@@ -0,0 +1,67 @@
+package com.qupp.post.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * 한 줄에 질문 하나(답변, 댓글 포함)인 NDJSON 파일. 빈 줄은 건너뛴다.
+ */
+class NdjsonImportSource implements ImportSource {
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+    private String next;
+
+    NdjsonImportSource(Path path, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!line.isBlank()) {
+                    next = line;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImportQuestion next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        String line = next;
+        next = null;
+
+        try {
+            return objectMapper.readValue(line, ImportQuestion.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("%d번째 줄을 읽을 수 없습니다: %s".formatted(lineNumber, e.getOriginalMessage()));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -1,18 +1,20 @@
 package com.qupp.post.repository;
 
+import com.qupp.config.id.EntityIdGenerator;
 import com.qupp.post.dto.response.ResponseQuestion;
 import com.qupp.user.repository.User;
 import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
@@ -27,7 +29,8 @@ import java.util.List;
 public class Answer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "answer_id")
+    @GenericGenerator(name = "answer_id", strategy = EntityIdGenerator.STRATEGY)
     private long id;
 
     @Column(columnDefinition = "TEXT")
@@ -46,6 +49,11 @@ public class Answer {
     @NotNull
     private Boolean deleted = false;
 
+    // 삭제되지 않은 댓글 수. AnswerRepository 의 UPDATE 로만 증감한다.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long commentCount;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private User user;
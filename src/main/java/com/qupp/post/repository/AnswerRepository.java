@@ -1,8 +1,33 @@
 package com.qupp.post.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long> {
+    @Query("select a.question.id from Answer a where a.id = :id")
+    Optional<Long> findQuestionIdById(long id);
+
+    @Modifying
+    @Query("update Answer a set a.commentCount = a.commentCount + :delta where a.id = :id")
+    int addCommentCount(long id, long delta);
+
+    // afterId 다음 번호들을 순서대로 가져온다(keyset). 번호 사이가 크게 비어 있어도 빈 구간을 훑지 않는다.
+    @Query("select a.id from Answer a where a.id > :afterId order by a.id")
+    List<Long> findIdsAfter(long afterId, Pageable pageable);
+
+    // 번호 구간 단위로 댓글 수를 실제 개수로 다시 맞춘다.
+    @Transactional
+    @Modifying
+    @Query("update Answer a set " +
+            "a.commentCount = (select count(c) from Comment c where c.answer.id = a.id and c.deleted = false) " +
+            "where a.id between :fromId and :toId")
+    int reconcileCounts(long fromId, long toId);
 }
@@ -1,9 +1,14 @@
 package com.qupp.post.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByCollege(String college);
+
+    @Query("select c from Category c left join fetch c.subCategory")
+    List<Category> findAllWithSubCategory();
 }
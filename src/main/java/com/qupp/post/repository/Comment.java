@@ -1,5 +1,6 @@
 package com.qupp.post.repository;
 
+import com.qupp.config.id.EntityIdGenerator;
 import com.qupp.post.dto.response.ResponseAnswer;
 import com.qupp.post.dto.response.ResponseQuestion;
 import com.qupp.user.repository.User;
@@ -7,12 +8,12 @@ import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
@@ -25,7 +26,8 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "comment_id")
+    @GenericGenerator(name = "comment_id", strategy = EntityIdGenerator.STRATEGY)
     private Long id;
 
     @Column
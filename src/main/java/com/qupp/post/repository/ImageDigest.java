@@ -0,0 +1,50 @@
+package com.qupp.post.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * 폴더별 이미지 내용(SHA-256) -> 저장된 key. 같은 내용을 다시 올리면 저장하지 않고 refCount 만 올린다.
+ * id 는 "폴더/digest" 이고, storageKey 는 저장할 때마다 사본 구분자를 붙여 새로 정한다("폴더/digest-{copy}.확장자").
+ * 행은 원본을 다 저장한 뒤에만 넣으므로 행이 있으면 객체도 있다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "image_digest")
+public class ImageDigest {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String storageKey;
+
+    @Column
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private long refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime registerTime;
+
+    // 썸네일/표시용 변형을 모두 저장했는지. ImageVariantProcessor 가 성공했을 때만 켠다.
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean variants;
+
+    public void release() {
+        this.refCount--;
+    }
+}
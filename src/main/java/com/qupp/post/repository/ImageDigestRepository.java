@@ -0,0 +1,43 @@
+package com.qupp.post.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ImageDigestRepository extends JpaRepository<ImageDigest, String> {
+
+    /**
+     * 이미 저장된 내용이면 참조 수를 올린다. 행이 없으면 0.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ImageDigest i set i.refCount = i.refCount + 1 where i.id = :id")
+    int addReference(String id);
+
+    /**
+     * 처음 저장한 내용을 참조 수 1 로 넣는다. 같은 내용을 동시에 올려 먼저 들어간 행이 있으면 DataIntegrityViolationException.
+     * save 는 id 가 있는 엔티티를 merge 하므로 먼저 들어간 행을 덮어쓰지 않도록 INSERT 로 넣는다.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into image_digest (id, storage_key, content_type, size, ref_count, register_time) " +
+            "values (:id, :storageKey, :contentType, :size, 1, :registerTime)", nativeQuery = true)
+    int insert(String id, String storageKey, String contentType, long size, LocalDateTime registerTime);
+
+    @Transactional
+    @Modifying
+    @Query("update ImageDigest i set i.variants = true where i.id = :id")
+    int markVariants(String id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from ImageDigest i where i.id = :id")
+    Optional<ImageDigest> findForUpdate(String id);
+}
@@ -1,33 +1,43 @@
 package com.qupp.post.repository;
 
+import com.qupp.config.id.EntityIdGenerator;
 import com.qupp.user.repository.User;
 import com.sun.istack.NotNull;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
+import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @Where(clause = "deleted = false")
+@Table(indexes = {
+        // 목록 정렬/커서 페이징 (register_time, id) 순서로 인덱스를 탄다.
+        @Index(name = "idx_question_register_time", columnList = "registerTime, id"),
+        @Index(name = "idx_question_category_register_time", columnList = "category_id, registerTime, id")
+})
 @Entity
 public class Question {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "question_id")
+    @GenericGenerator(name = "question_id", strategy = EntityIdGenerator.STRATEGY)
     private long id;
 
     @Column
@@ -50,6 +60,32 @@ public class Question {
     @NotNull
     private Boolean deleted = false;
 
+    // 질문/답변/댓글이 바뀔 때마다 QuestionRepository.touch 로만 갱신한다. 조건부 조회(ETag, Last-Modified)에 사용한다.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long revision;
+
+    @Column(updatable = false)
+    private LocalDateTime modifiedTime;
+
+    // 삭제되지 않은 답변 수, 질문에 직접 달린 댓글 수. 엔티티 수정으로는 바뀌지 않고 QuestionRepository 의 UPDATE 로만 증감한다.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long answerCount;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long commentCount;
+
+    // 조회 수와 고유 조회자 추정값. ViewCounter 가 주기적으로 묶어서 UPDATE 한다.
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewCount;
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long viewerCount;
+
     @ManyToOne
     @JoinColumn(name="user_id")
     private User user;
@@ -72,6 +108,7 @@ public class Question {
         this.user = user;
         this.registerTime = registerTime;
         this.updateTime = updateTime;
+        this.modifiedTime = updateTime;
     }
 
     public void delete() {
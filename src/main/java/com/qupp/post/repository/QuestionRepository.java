@@ -1,12 +1,46 @@
 package com.qupp.post.repository;
 
-import org.springframework.data.domain.Page;
+import com.qupp.post.repository.querydsl.QuestionRepositoryCustom;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface QuestionRepository extends JpaRepository<Question, Long> {
-    Page<Question> findByCategoryId(@Param("category_id") Long categoryId, Pageable pageable);
+public interface QuestionRepository extends JpaRepository<Question, Long>, QuestionRepositoryCustom {
+
+    // 질문 스레드(질문, 답변, 댓글)가 바뀌었음을 기록한다.
+    @Modifying
+    @Query("update Question q set q.revision = q.revision + 1, q.modifiedTime = :now where q.id = :id")
+    int touch(long id, LocalDateTime now);
+
+    @Modifying
+    @Query("update Question q set q.answerCount = q.answerCount + :delta where q.id = :id")
+    int addAnswerCount(long id, long delta);
+
+    @Modifying
+    @Query("update Question q set q.commentCount = q.commentCount + :delta where q.id = :id")
+    int addCommentCount(long id, long delta);
+
+    // afterId 다음 번호들을 순서대로 가져온다(keyset). 번호 사이가 크게 비어 있어도 빈 구간을 훑지 않는다.
+    @Query("select q.id from Question q where q.id > :afterId order by q.id")
+    List<Long> findIdsAfter(long afterId, Pageable pageable);
+
+    @Query("select c.college from Question q join q.category c where q.id = :id")
+    Optional<String> findCollegeById(long id);
+
+    // 번호 구간 단위로 답변/댓글 수를 실제 개수로 다시 맞춘다.
+    @Transactional
+    @Modifying
+    @Query("update Question q set " +
+            "q.answerCount = (select count(a) from Answer a where a.question.id = q.id and a.deleted = false), " +
+            "q.commentCount = (select count(c) from Comment c where c.question.id = q.id and c.deleted = false) " +
+            "where q.id between :fromId and :toId")
+    int reconcileCounts(long fromId, long toId);
 }
@@ -0,0 +1,26 @@
+package com.qupp.post.repository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 질문별 고유 조회자 HyperLogLog 레지스터. ViewCounter 가 JDBC 로 병합해서 저장하고, 엔티티는 테이블 생성에만 쓴다.
+ * 추정값은 question.viewer_count 에 함께 기록하므로 조회할 때는 이 테이블을 읽지 않는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "question_view")
+public class QuestionView {
+    @Id
+    private long questionId;
+
+    @Column(nullable = false, length = 1024)
+    private byte[] sketch;
+}
@@ -0,0 +1,39 @@
+package com.qupp.post.repository.querydsl;
+
+import com.qupp.post.dto.inner.QuestionCursor;
+import com.qupp.post.dto.inner.QuestionListState;
+import com.qupp.post.dto.inner.QuestionValidator;
+import com.qupp.post.dto.inner.TrendingEvent;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Question;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface QuestionRepositoryCustom {
+
+    Optional<Question> findDetailById(long id);
+
+    Optional<QuestionValidator> findValidatorById(long id);
+
+    List<Question> findExportChunk(long afterId, int limit);
+
+    List<QuestionListState> findListStates();
+
+    Page<ResponseQuestionSummary> findSummaries(Long categoryId, Pageable pageable);
+
+    List<ResponseQuestionSummary> findSummariesByIds(List<Long> ids);
+
+    List<TrendingEvent> findTrendingEvents(LocalDateTime since);
+
+    List<ResponseQuestionSummary> findSummariesAfter(Long categoryId, QuestionCursor cursor, int limit);
+
+    Page<ResponseQuestionSummary> findSummariesByAuthor(long userId, Pageable pageable);
+
+    Page<ResponseQuestionSummary> findSummariesAnsweredBy(long userId, Pageable pageable);
+
+    Page<ResponseQuestionSummary> findSummariesCommentedBy(long userId, Pageable pageable);
+}
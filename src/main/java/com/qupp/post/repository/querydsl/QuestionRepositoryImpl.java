@@ -0,0 +1,394 @@
+package com.qupp.post.repository.querydsl;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimeExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.qupp.post.dto.inner.QuestionCursor;
+import com.qupp.post.dto.inner.QuestionListState;
+import com.qupp.post.dto.inner.QuestionValidator;
+import com.qupp.post.dto.inner.TrendingEvent;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.QAnswer;
+import com.qupp.post.repository.QComment;
+import com.qupp.post.repository.Question;
+import com.qupp.user.repository.QUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.qupp.post.repository.QAnswer.answer;
+import static com.qupp.post.repository.QCategory.category;
+import static com.qupp.post.repository.QComment.comment1;
+import static com.qupp.post.repository.QQuestion.question;
+import static com.qupp.post.repository.QSubCategory.subCategory;
+import static com.qupp.user.repository.QUser.user;
+
+@RequiredArgsConstructor
+public class QuestionRepositoryImpl implements QuestionRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Question> findDetailById(long id) {
+        /*
+        질문 상세 조회에 필요한 엔티티를 스레드 크기와 상관없이 3번의 쿼리로 조회한다.
+        1. 질문 + 작성자 + 카테고리 + 답변 + 답변 작성자
+        2. 질문 댓글 + 댓글 작성자
+        3. 답변 댓글 + 댓글 작성자
+        2, 3번 쿼리는 이미 영속성 컨텍스트에 있는 질문/답변의 컬렉션을 초기화한다.
+         */
+        QUser questionUser = new QUser("questionUser");
+        QUser answerUser = new QUser("answerUser");
+
+        Question result = jpaQueryFactory
+                .selectFrom(question)
+                .distinct()
+                .leftJoin(question.user, questionUser).fetchJoin()
+                .leftJoin(question.category, category).fetchJoin()
+                .leftJoin(category.subCategory, subCategory).fetchJoin()
+                .leftJoin(question.answers, answer).fetchJoin()
+                .leftJoin(answer.user, answerUser).fetchJoin()
+                .where(question.id.eq(id))
+                .fetchOne();
+
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        QUser commentUser = new QUser("commentUser");
+
+        jpaQueryFactory
+                .selectFrom(question)
+                .distinct()
+                .leftJoin(question.comments, comment1).fetchJoin()
+                .leftJoin(comment1.user, commentUser).fetchJoin()
+                .where(question.id.eq(id))
+                .fetch();
+
+        jpaQueryFactory
+                .selectFrom(answer)
+                .distinct()
+                .leftJoin(answer.comments, comment1).fetchJoin()
+                .leftJoin(comment1.user, commentUser).fetchJoin()
+                .where(answer.question.id.eq(id))
+                .fetch();
+
+        return Optional.of(result);
+    }
+
+    @Override
+    public List<Question> findExportChunk(long afterId, int limit) {
+        /*
+        번호 순으로 afterId 다음 질문 limit 개와 답변/댓글을 청크 크기와 상관없이 4번의 쿼리로 조회한다.
+        1. 질문 + 작성자 + 카테고리 (WHERE id > ? ORDER BY id LIMIT ?)
+        2. 답변 + 답변 작성자
+        3. 질문 댓글 + 댓글 작성자
+        4. 답변 댓글 + 댓글 작성자
+        2~4번 쿼리는 이미 영속성 컨텍스트에 있는 질문/답변의 컬렉션을 초기화한다.
+         */
+        List<Question> questions = jpaQueryFactory
+                .selectFrom(question)
+                .leftJoin(question.user, user).fetchJoin()
+                .leftJoin(question.category, category).fetchJoin()
+                .leftJoin(category.subCategory, subCategory).fetchJoin()
+                .where(question.id.gt(afterId))
+                .orderBy(question.id.asc())
+                .limit(limit)
+                .fetch();
+
+        if (questions.isEmpty()) {
+            return questions;
+        }
+
+        List<Long> ids = questions.stream().map(Question::getId).toList();
+        QUser answerUser = new QUser("answerUser");
+        QUser commentUser = new QUser("commentUser");
+
+        jpaQueryFactory
+                .selectFrom(question)
+                .distinct()
+                .leftJoin(question.answers, answer).fetchJoin()
+                .leftJoin(answer.user, answerUser).fetchJoin()
+                .where(question.id.in(ids))
+                .fetch();
+
+        jpaQueryFactory
+                .selectFrom(question)
+                .distinct()
+                .leftJoin(question.comments, comment1).fetchJoin()
+                .leftJoin(comment1.user, commentUser).fetchJoin()
+                .where(question.id.in(ids))
+                .fetch();
+
+        jpaQueryFactory
+                .selectFrom(answer)
+                .distinct()
+                .leftJoin(answer.comments, comment1).fetchJoin()
+                .leftJoin(comment1.user, commentUser).fetchJoin()
+                .where(answer.question.id.in(ids))
+                .fetch();
+
+        return questions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<QuestionValidator> findValidatorById(long id) {
+        DateTimeExpression<LocalDateTime> modifiedTime = modifiedTime();
+
+        Tuple tuple = jpaQueryFactory
+                .select(question.revision, modifiedTime)
+                .from(question)
+                .where(question.id.eq(id))
+                .fetchOne();
+
+        if (tuple == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(QuestionValidator.ofQuestion(id, tuple.get(question.revision), tuple.get(modifiedTime)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuestionListState> findListStates() {
+        /*
+        SELECT category_id, count(*), max(id), max(coalesce(modified_time, update_time)) FROM question GROUP BY category_id
+        목록 요청마다 실행하지 않고, 다른 곳에서 바뀐 목록을 찾기 위해 주기적으로만 실행한다.
+         */
+        return jpaQueryFactory
+                .select(Projections.constructor(QuestionListState.class,
+                        question.category.id,
+                        question.count(),
+                        question.id.max(),
+                        modifiedTime().max()
+                ))
+                .from(question)
+                .groupBy(question.category.id)
+                .fetch();
+    }
+
+    @Override
+    public Page<ResponseQuestionSummary> findSummaries(Long categoryId, Pageable pageable) {
+        /*
+        질문 목록은 답변/댓글 테이블을 읽지 않고 목록에 필요한 컬럼과 비정규화된 개수만 한 번의 SELECT로 가져온다.
+        SELECT q.id, q.title, substring(q.content, 1, 100), u.nickname, c.college, s.dept, q.register_time, q.update_time,
+               q.answer_count, q.comment_count, q.view_count, q.viewer_count
+        FROM question q LEFT JOIN user u LEFT JOIN category c LEFT JOIN subcategory s
+        WHERE q.category_id = ?
+        ORDER BY ... LIMIT ?, ?
+         */
+        return findSummaries(categoryIdEq(categoryId), pageable);
+    }
+
+    @Override
+    public List<ResponseQuestionSummary> findSummariesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return jpaQueryFactory
+                .select(summary())
+                .from(question)
+                .leftJoin(question.user, user)
+                .leftJoin(question.category, category)
+                .leftJoin(category.subCategory, subCategory)
+                .where(question.id.in(ids))
+                .fetch();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TrendingEvent> findTrendingEvents(LocalDateTime since) {
+        /*
+        since 이후의 질문 등록, 답변, 질문 댓글, 답변 댓글을 (질문 번호, 대분류, 시각) 으로 읽는다.
+        엔티티를 만들지 않고 세 컬럼만 가져오며, 삭제된 글과 삭제된 질문에 달린 글은 제외한다.
+         */
+        QComment answerComment = new QComment("answerComment");
+        List<TrendingEvent> events = new ArrayList<>();
+
+        addEvents(events, TrendingEvent.Type.QUESTION, question.registerTime, jpaQueryFactory
+                .select(question.id, category.college, question.registerTime)
+                .from(question)
+                .join(question.category, category)
+                .where(question.registerTime.goe(since))
+                .fetch());
+
+        addEvents(events, TrendingEvent.Type.ANSWER, answer.registerTime, jpaQueryFactory
+                .select(question.id, category.college, answer.registerTime)
+                .from(answer)
+                .join(answer.question, question)
+                .join(question.category, category)
+                .where(answer.registerTime.goe(since), answer.deleted.isFalse(), question.deleted.isFalse())
+                .fetch());
+
+        addEvents(events, TrendingEvent.Type.COMMENT, comment1.registerTime, jpaQueryFactory
+                .select(question.id, category.college, comment1.registerTime)
+                .from(comment1)
+                .join(comment1.question, question)
+                .join(question.category, category)
+                .where(comment1.registerTime.goe(since), comment1.deleted.isFalse(), question.deleted.isFalse())
+                .fetch());
+
+        addEvents(events, TrendingEvent.Type.COMMENT, answerComment.registerTime, jpaQueryFactory
+                .select(question.id, category.college, answerComment.registerTime)
+                .from(answerComment)
+                .join(answerComment.answer, answer)
+                .join(answer.question, question)
+                .join(question.category, category)
+                .where(answerComment.registerTime.goe(since), answerComment.deleted.isFalse(),
+                        answer.deleted.isFalse(), question.deleted.isFalse())
+                .fetch());
+
+        return events;
+    }
+
+    private void addEvents(List<TrendingEvent> events, TrendingEvent.Type type, DateTimeExpression<LocalDateTime> time, List<Tuple> tuples) {
+        for (Tuple tuple : tuples) {
+            events.add(new TrendingEvent(tuple.get(question.id), tuple.get(category.college), tuple.get(time), type));
+        }
+    }
+
+    @Override
+    public Page<ResponseQuestionSummary> findSummariesByAuthor(long userId, Pageable pageable) {
+        return findSummaries(question.user.id.eq(userId), pageable);
+    }
+
+    @Override
+    public Page<ResponseQuestionSummary> findSummariesAnsweredBy(long userId, Pageable pageable) {
+        /*
+        유저가 답변을 단 질문 (한 질문에 여러 번 답변해도 한 번만 포함)
+        WHERE EXISTS (SELECT 1 FROM answer a WHERE a.question_id = q.id AND a.user_id = ?)
+         */
+        QAnswer userAnswer = new QAnswer("userAnswer");
+
+        return findSummaries(JPAExpressions.selectOne()
+                .from(userAnswer)
+                .where(userAnswer.question.eq(question), userAnswer.user.id.eq(userId), userAnswer.deleted.isFalse())
+                .exists(), pageable);
+    }
+
+    @Override
+    public Page<ResponseQuestionSummary> findSummariesCommentedBy(long userId, Pageable pageable) {
+        /*
+        유저가 댓글을 단 질문. 답변에 달린 댓글은 답변의 부모 질문으로 묶는다.
+        WHERE EXISTS (SELECT 1 FROM comment c LEFT JOIN answer a ON c.answer_id = a.id
+                      WHERE c.user_id = ? AND (c.question_id = q.id OR a.question_id = q.id))
+         */
+        QComment userComment = new QComment("userComment");
+        QAnswer commentAnswer = new QAnswer("commentAnswer");
+
+        return findSummaries(JPAExpressions.selectOne()
+                .from(userComment)
+                .leftJoin(userComment.answer, commentAnswer)
+                .where(userComment.user.id.eq(userId), userComment.deleted.isFalse(),
+                        userComment.question.eq(question).or(commentAnswer.question.eq(question)))
+                .exists(), pageable);
+    }
+
+    private Page<ResponseQuestionSummary> findSummaries(Predicate predicate, Pageable pageable) {
+        List<ResponseQuestionSummary> content = jpaQueryFactory
+                .select(summary())
+                .from(question)
+                .leftJoin(question.user, user)
+                .leftJoin(question.category, category)
+                .leftJoin(category.subCategory, subCategory)
+                .where(predicate)
+                .orderBy(orderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> jpaQueryFactory
+                .select(question.count())
+                .from(question)
+                .where(predicate)
+                .fetchOne());
+    }
+
+    @Override
+    public List<ResponseQuestionSummary> findSummariesAfter(Long categoryId, QuestionCursor cursor, int limit) {
+        /*
+        OFFSET 과 count 없이 (register_time, id) 인덱스를 따라 커서 다음 위치부터 limit 개를 읽는다.
+        WHERE (q.register_time < ? OR (q.register_time = ? AND q.id < ?))
+        ORDER BY q.register_time DESC, q.id DESC
+        LIMIT ?
+         */
+        return jpaQueryFactory
+                .select(summary())
+                .from(question)
+                .leftJoin(question.user, user)
+                .leftJoin(question.category, category)
+                .leftJoin(category.subCategory, subCategory)
+                .where(categoryIdEq(categoryId), after(cursor))
+                .orderBy(question.registerTime.desc(), question.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    private Expression<ResponseQuestionSummary> summary() {
+        return Projections.constructor(ResponseQuestionSummary.class,
+                question.id,
+                question.title,
+                question.content.substring(0, ResponseQuestionSummary.EXCERPT_LENGTH),
+                user.nickname,
+                category.college,
+                subCategory.dept,
+                question.registerTime,
+                question.updateTime,
+                question.answerCount,
+                question.commentCount,
+                question.viewCount,
+                question.viewerCount
+        );
+    }
+
+    // modifiedTime 컬럼이 추가되기 전에 등록된 질문은 updateTime 을 사용한다.
+    private DateTimeExpression<LocalDateTime> modifiedTime() {
+        return Expressions.dateTimeTemplate(LocalDateTime.class, "coalesce({0}, {1})", question.modifiedTime, question.updateTime);
+    }
+
+    private BooleanExpression categoryIdEq(Long categoryId) {
+        return categoryId == null ? null : question.category.id.eq(categoryId);
+    }
+
+    private BooleanExpression after(QuestionCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        return question.registerTime.lt(cursor.getRegisterTime())
+                .or(question.registerTime.eq(cursor.getRegisterTime()).and(question.id.lt(cursor.getId())));
+    }
+
+    private OrderSpecifier<?>[] orderSpecifiers(Sort sort) {
+        PathBuilder<Question> path = new PathBuilder<>(Question.class, question.getMetadata());
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+
+        for (Sort.Order order : sort) {
+            orders.add(new OrderSpecifier<>(order.isAscending() ? Order.ASC : Order.DESC, path.getComparable(order.getProperty(), Comparable.class)));
+        }
+        // 같은 시각에 등록된 질문이 페이지 경계에서 중복/누락되지 않도록 id를 마지막 정렬 기준으로 둔다.
+        orders.add(question.id.desc());
+
+        return orders.toArray(OrderSpecifier[]::new);
+    }
+}
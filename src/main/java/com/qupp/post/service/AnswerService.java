@@ -6,6 +6,7 @@ import com.qupp.post.dto.response.ResponseAnswer;
 import com.qupp.post.dto.response.ResponseQuestion;
 import com.qupp.post.repository.Answer;
 import com.qupp.post.repository.AnswerRepository;
+import com.qupp.post.repository.QuestionRepository;
 import com.qupp.user.controller.dto.response.ResponseUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,10 @@ import java.util.stream.Collectors;
 public class AnswerService {
 
     private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionChangeTracker questionChangeTracker;
+    private final TrendingRanking trendingRanking;
+    private final ImageService imageService;
 
     @Transactional
     public long register(RequestRegisterAnswer requestRegisterAnswer, ResponseQuestion responseQuestion) {
@@ -29,12 +34,15 @@ public class AnswerService {
         answer.addQuestion(responseQuestion);
 
         answer = answerRepository.save(answer);
+        questionRepository.addAnswerCount(responseQuestion.getId(), 1);
+        questionChangeTracker.changed(responseQuestion.getId(), responseQuestion.getCategory());
+        trendingRanking.answered(responseQuestion.getId(), responseQuestion.getCategory());
 
         return answer.getQuestion().getId();
 
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseAnswer findOne(long id) {
         Answer answer = answerRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("존재하지 않는 답글입니다."));
@@ -46,8 +54,10 @@ public class AnswerService {
     public long update(long id, RequestUpdateAnswer requestUpdateAnswer) {
         Answer answer = answerRepository.findById(id).orElseThrow(() -> new NoSuchElementException("존재하지 않는 답변입니다."));
 
+        imageService.releaseRemoved(answer.getContent(), requestUpdateAnswer.getContent());
         answer.setContent(requestUpdateAnswer.getContent());
         answer.setUpdateTime(LocalDateTime.now());
+        questionChangeTracker.changed(answer.getQuestion().getId());
 
         return answer.getQuestion().getId();
     }
@@ -56,11 +66,14 @@ public class AnswerService {
     public long delete(long id) {
         Answer answer = answerRepository.findById(id).orElseThrow(() -> new NoSuchElementException("존재하지 않는 답변입니다."));
         answer.delete();
+        imageService.releaseAll(answer.getContent());
+        questionRepository.addAnswerCount(answer.getQuestion().getId(), -1);
+        questionChangeTracker.changed(answer.getQuestion().getId());
 
         return answer.getQuestion().getId();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseAnswer getResponseAnswer(Answer a) {
         ResponseAnswer responseAnswer = new ResponseAnswer().fromEntity(a);
 
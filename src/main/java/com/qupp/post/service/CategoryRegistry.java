@@ -0,0 +1,76 @@
+package com.qupp.post.service;
+
+import com.qupp.post.repository.Category;
+import com.qupp.post.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 대분류/소분류는 data.sql 로 채워지는 작은 고정 테이블이라 요청마다 조회하지 않고 메모리에 올려 둔다.
+ * 싱글톤 초기화가 끝나면(data.sql 실행 후, 요청이나 ApplicationRunner 보다 먼저) 한 번 읽고,
+ * 이후 변경을 반영하기 위해 주기적으로(또는 refresh 호출 시) 새 스냅샷으로 통째로 교체한다.
+ * 보관하는 Category 는 영속성 컨텍스트에서 분리된 읽기 전용 객체이므로 수정하면 안 된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CategoryRegistry implements SmartInitializingSingleton {
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    @Scheduled(
+            initialDelayString = "${qupp.category.refresh-interval-ms:300000}",
+            fixedDelayString = "${qupp.category.refresh-interval-ms:300000}"
+    )
+    public void refresh() {
+        snapshot = Snapshot.of(categoryRepository.findAllWithSubCategory());
+        log.debug("category registry loaded: {} categories", snapshot.byId().size());
+    }
+
+    public Optional<Category> findById(long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    // 불변 Map 은 null 키 조회를 허용하지 않는다.
+    public Optional<Category> findByCollege(String college) {
+        return college == null ? Optional.empty() : Optional.ofNullable(snapshot.byCollege().get(college));
+    }
+
+    public Optional<Category> findByDept(String dept) {
+        return dept == null ? Optional.empty() : Optional.ofNullable(snapshot.byDept().get(dept));
+    }
+
+    private record Snapshot(Map<Long, Category> byId, Map<String, Category> byCollege, Map<String, Category> byDept) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        static Snapshot of(List<Category> categories) {
+            return new Snapshot(
+                    index(categories, Category::getId),
+                    index(categories, Category::getCollege),
+                    index(categories.stream().filter(c -> c.getSubCategory() != null).toList(), c -> c.getSubCategory().getDept())
+            );
+        }
+
+        private static <K> Map<K, Category> index(List<Category> categories, Function<Category, K> key) {
+            return categories.stream()
+                    .filter(c -> key.apply(c) != null)
+                    .collect(Collectors.toUnmodifiableMap(key, Function.identity(), (a, b) -> a));
+        }
+    }
+}
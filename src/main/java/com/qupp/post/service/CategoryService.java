@@ -1,27 +1,18 @@
 package com.qupp.post.service;
 
 import com.qupp.post.repository.Category;
-import com.qupp.post.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import javax.transaction.Transactional;
-
 @RequiredArgsConstructor
 @Service
 public class CategoryService {
 
-    private final CategoryRepository categoryRepository;
+    private final CategoryRegistry categoryRegistry;
 
-    @Transactional
     public Long findByCollege(String college) {
-        Category category = categoryRepository.findByCollege(college)
+        return categoryRegistry.findByCollege(college)
+                .map(Category::getId)
                 .orElse(null);
-
-        if (category == null) {
-            return null;
-        }
-
-        return category.getId();
     }
 }
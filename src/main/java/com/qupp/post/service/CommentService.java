@@ -4,8 +4,10 @@ import com.qupp.post.dto.request.RequestRegisterComment;
 import com.qupp.post.dto.request.RequestUpdateComment;
 import com.qupp.post.dto.response.ResponseAnswer;
 import com.qupp.post.dto.response.ResponseQuestion;
+import com.qupp.post.repository.AnswerRepository;
 import com.qupp.post.repository.Comment;
 import com.qupp.post.repository.CommentRepository;
+import com.qupp.post.repository.QuestionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,7 +20,12 @@ import java.util.NoSuchElementException;
 public class CommentService {
 
     private final CommentRepository commentRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionChangeTracker questionChangeTracker;
+    private final TrendingRanking trendingRanking;
 
+    //    댓글이 달린 질문 번호를 반환한다. 답변 댓글이면 답변이 달린 질문 번호.
     @Transactional
     public long postRegister(RequestRegisterComment requestRegisterComment, ResponseQuestion responseQuestion, ResponseAnswer responseAnswer) {
         LocalDateTime now = LocalDateTime.now();
@@ -31,13 +38,24 @@ public class CommentService {
             comment.addAnswer(responseAnswer);
         }
 
-        comment = commentRepository.save(comment);
+        commentRepository.save(comment);
 
         if (responseQuestion != null) {
-            return comment.getQuestion().getId();
+            questionRepository.addCommentCount(responseQuestion.getId(), 1);
+        } else {
+            answerRepository.addCommentCount(responseAnswer.getId(), 1);
         }
 
-        return 0;
+        long questionId = responseQuestion != null
+                ? responseQuestion.getId()
+                : answerRepository.findQuestionIdById(responseAnswer.getId())
+                        .orElseThrow(() -> new NoSuchElementException("존재하지 않는 답변입니다."));
+
+        String college = responseQuestion != null ? responseQuestion.getCategory() : null;
+        questionChangeTracker.changed(questionId, college);
+        trendingRanking.commented(questionId, college);
+
+        return questionId;
     }
 
     @Transactional
@@ -48,11 +66,10 @@ public class CommentService {
         comment.setComment(requestUpdateComment.getComment());
         comment.setUpdateTime(LocalDateTime.now());
 
-        if (comment.getQuestion() != null) {
-            return comment.getQuestion().getId();
-        }
+        long questionId = getQuestionId(comment);
+        questionChangeTracker.changed(questionId);
 
-        return comment.getAnswer().getId();
+        return questionId;
     }
 
     @Transactional
@@ -63,10 +80,22 @@ public class CommentService {
         comment.delete();
 
         if (comment.getQuestion() != null) {
-            return comment.getQuestion().getId();
+            questionRepository.addCommentCount(comment.getQuestion().getId(), -1);
+        } else {
+            answerRepository.addCommentCount(comment.getAnswer().getId(), -1);
         }
 
-        return comment.getAnswer().getId();
+        long questionId = getQuestionId(comment);
+        questionChangeTracker.changed(questionId);
+
+        return questionId;
     }
 
+    private long getQuestionId(Comment comment) {
+        if (comment.getQuestion() != null) {
+            return comment.getQuestion().getId();
+        }
+
+        return comment.getAnswer().getQuestion().getId();
+    }
 }
@@ -1,84 +1,312 @@
 package com.qupp.post.service;
 
-import com.amazonaws.services.s3.AmazonS3Client;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.qupp.config.storage.ImageStorage;
 import com.qupp.exception.ImageUploadException;
-import lombok.RequiredArgsConstructor;
+import com.qupp.post.dto.response.ResponseImage;
+import com.qupp.post.dto.response.ResponseImageUpload;
+import com.qupp.post.repository.ImageDigest;
+import com.qupp.post.repository.ImageDigestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-@RequiredArgsConstructor
+@Slf4j
 @Service
 public class ImageService {
+    // 본문에 들어간 원본/변형 URL 에서 사본의 key(확장자 제외)를 찾는다. 앞의 "폴더/digest" 가 image_digest 의 id 이다.
+    // 저장소마다 URL 앞부분은 달라도 key 는 같다. 사본 구분자가 없는 key 는 구분자를 붙이기 전에 저장한 것이다.
+    private static final Pattern IMAGE_KEY = Pattern.compile("\\b((?:question|answer)/[0-9a-f]{64})(?:-[0-9a-f]{32})?");
 
-    private final AmazonS3Client amazonS3Client;
+    private final ImageStorage imageStorage;
+    private final ImageDigestRepository imageDigestRepository;
+    private final ImageVariantProcessor imageVariantProcessor;
+    private final Executor imageUploadExecutor;
+    private final int maxFiles;
 
-    @Value("${cloud.aws.s3.bucket}")
-    private String bucket;
+    public ImageService(
+            ImageStorage imageStorage,
+            ImageDigestRepository imageDigestRepository,
+            ImageVariantProcessor imageVariantProcessor,
+            @Qualifier("imageUploadExecutor") Executor imageUploadExecutor,
+            @Value("${qupp.image.upload.max-files:10}") int maxFiles
+    ) {
+        this.imageStorage = imageStorage;
+        this.imageDigestRepository = imageDigestRepository;
+        this.imageVariantProcessor = imageVariantProcessor;
+        this.imageUploadExecutor = imageUploadExecutor;
+        this.maxFiles = maxFiles;
+    }
 
-    public String upload(MultipartFile multipartFile, String dirName) {
-        File uploadFile;
+    /**
+     * 폴더 안에서 내용(SHA-256)으로 색인하고, 같은 내용이 이미 있으면 다시 올리지 않고 참조 수만 올려 기존 URL 을 돌려준다.
+     * 저장할 때마다 key 에 사본 구분자(임의 값)를 붙인다. 마지막 참조가 풀린 사본은 커밋 뒤에 지우는데, 그 사이에 같은 내용을
+     * 다시 올려도 다른 key 에 저장되므로 지워질 사본과 겹치지 않는다.
+     * 업로드는 두 번 스트림으로 읽는다. 한 번은 digest 를 구하고, 없는 내용이면 다시 읽어 크기와 함께 저장소로 흘려보내면서
+     * digest 를 한 번 더 확인한다. 힙에 파일 전체를 올리거나 임시 파일을 만들지 않는다.
+     * 읽을 수 있는 이미지 형식이면 썸네일/표시용 변형을 비동기로 만든다. 변형 URL 은 변형을 모두 저장한 뒤에만 돌려주고,
+     * 그 전에는 원본 URL 을 돌려준다. 변형이 없는 내용을 다시 올리면 변형 만들기를 다시 시도한다.
+     */
+    public ResponseImage upload(MultipartFile multipartFile, String dirName) {
+        if (multipartFile == null || multipartFile.isEmpty()) {
+            throw new IllegalArgumentException("이미지 파일이 없습니다.");
+        }
 
         try {
-            uploadFile = convert(multipartFile)
-                    .orElseThrow(() -> new IllegalArgumentException("MultipartFile -> File로 전환이 실패했습니다."));
-        } catch(IOException e) {
+            String digest = digest(multipartFile);
+            String id = dirName + "/" + digest;
+
+            Optional<ImageDigest> existing = findExisting(id);
+            if (existing.isPresent()) {
+                ImageDigest image = existing.get();
+                if (!image.isVariants() && imageVariantProcessor.supports(image.getContentType())) {
+                    imageVariantProcessor.submit(image.getId(), image.getStorageKey());
+                }
+                return responseImage(image.getStorageKey(), image.isVariants());
+            }
+
+            String key = id + "-" + UUID.randomUUID().toString().replace("-", "") + extension(multipartFile);
+            store(key, digest, multipartFile);
+
+            try {
+                imageDigestRepository.insert(id, key, multipartFile.getContentType(), multipartFile.getSize(), LocalDateTime.now());
+            } catch (DataIntegrityViolationException e) {
+                // 같은 내용을 동시에 올린 요청이 먼저 넣었다. 방금 저장한 사본은 지우고 먼저 넣은 사본의 참조를 더한다.
+                imageStorage.delete(key);
+                return findExisting(id)
+                        .map(image -> responseImage(image.getStorageKey(), image.isVariants()))
+                        .orElseThrow(() -> new ImageUploadException("이미지 등록에 실패했습니다."));
+            }
+
+            if (imageVariantProcessor.supports(multipartFile.getContentType())) {
+                imageVariantProcessor.submit(id, key);
+            }
+            return responseImage(key, false);
+        } catch (IOException e) {
             throw new ImageUploadException("이미지 등록에 실패했습니다.");
         }
+    }
+
+    /**
+     * 여러 장을 imageUploadExecutor 에서 동시에 올리고, 모두 끝나면 입력 순서대로 파일별 결과를 돌려준다.
+     * 한 장이 실패해도 나머지는 계속 올린다.
+     */
+    public List<ResponseImageUpload> upload(List<MultipartFile> multipartFiles, String dirName) {
+        if (multipartFiles == null || multipartFiles.isEmpty()) {
+            throw new IllegalArgumentException("이미지 파일이 없습니다.");
+        }
+        if (multipartFiles.size() > maxFiles) {
+            throw new IllegalArgumentException("이미지는 한 번에 " + maxFiles + "장까지 올릴 수 있습니다.");
+        }
+
+        List<CompletableFuture<ResponseImageUpload>> uploads = new ArrayList<>();
+        for (MultipartFile mpf : multipartFiles) {
+            String fileName = mpf == null ? null : mpf.getOriginalFilename();
+            uploads.add(CompletableFuture
+                    .supplyAsync(() -> ResponseImageUpload.success(fileName, upload(mpf, dirName)), imageUploadExecutor)
+                    .exceptionally(e -> ResponseImageUpload.failure(fileName, failureMessage(e))));
+        }
+
+        return uploads.stream().map(CompletableFuture::join).toList();
+    }
+
+    private String failureMessage(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ImageUploadException imageUploadException) {
+            return imageUploadException.getMsg();
+        }
+        if (cause instanceof IllegalArgumentException) {
+            return cause.getMessage();
+        }
+        return "이미지 등록에 실패했습니다.";
+    }
+
+    /**
+     * 참조를 하나 줄이고, 더 이상 참조가 없으면 색인을 지우고 커밋된 뒤에 원본과 변형을 지운다.
+     * 행을 잠근 채로 지우므로 같은 내용을 동시에 올리는 요청은 색인이 지워진 뒤 새 key 로 저장한다.
+     */
+    @Transactional
+    public void release(String dirName, String digest) {
+        ImageDigest image = imageDigestRepository.findForUpdate(dirName + "/" + digest)
+                .orElseThrow(() -> new NoSuchElementException("존재하지 않는 이미지입니다."));
+        release(image);
+    }
+
+    /**
+     * 삭제하는 질문/답변 본문에 들어 있는 이미지의 참조를 하나씩 푼다. 업로드 한 번이 글 하나에 쓰인다고 본다.
+     * 같은 이미지의 원본과 변형 URL 은 한 번만 풀고, 색인에 없거나 색인의 사본과 key 가 다른 이미지
+     * (이미 지워진 사본이나 다른 곳의 URL)는 건너뛴다.
+     */
+    @Transactional
+    public void releaseAll(String content) {
+        releaseRemoved(content, null);
+    }
+
+    /**
+     * 수정 전 본문에는 있었지만 수정한 본문에는 없는 이미지의 참조를 푼다. 건너뛰는 기준은 releaseAll 과 같다.
+     */
+    @Transactional
+    public void releaseRemoved(String before, String after) {
+        Map<String, Set<String>> removed = copies(before);
+        copies(after).forEach((id, keys) -> {
+            Set<String> old = removed.get(id);
+            if (old != null && old.removeAll(keys) && old.isEmpty()) {
+                removed.remove(id);
+            }
+        });
+
+        removed.forEach((id, keys) -> imageDigestRepository.findForUpdate(id)
+                .filter(image -> keys.contains(stem(image.getStorageKey())))
+                .ifPresent(this::release));
+    }
+
+    // id -> 본문에 있는 사본 key. 여러 글을 동시에 지워도 같은 순서로 행을 잠그도록 id 로 정렬한다.
+    private static Map<String, Set<String>> copies(String content) {
+        Map<String, Set<String>> copies = new TreeMap<>();
+        if (content == null) {
+            return copies;
+        }
 
-        return upload(uploadFile, dirName);
+        Matcher matcher = IMAGE_KEY.matcher(content);
+        while (matcher.find()) {
+            copies.computeIfAbsent(matcher.group(1), id -> new HashSet<>()).add(matcher.group());
+        }
+        return copies;
     }
 
-    public List<String> upload(List<MultipartFile> multipartFiles, String dirName) {
-        List<String> urls = new ArrayList<>();
+    // question/{digest}-{copy}.png -> question/{digest}-{copy}
+    private static String stem(String key) {
+        int slash = key.lastIndexOf('/');
+        int dot = key.lastIndexOf('.');
+        return dot > slash ? key.substring(0, dot) : key;
+    }
 
-        for(MultipartFile mpf : multipartFiles) {
-            urls.add(upload(mpf, dirName));
+    private void release(ImageDigest image) {
+        image.release();
+        if (image.getRefCount() > 0) {
+            return;
         }
 
-        return urls;
+        imageDigestRepository.delete(image);
+        afterCommit(() -> deleteStored(image.getStorageKey()));
+    }
+
+    // 롤백되면 색인이 남으므로 파일도 남아 있어야 한다. 커밋 뒤에는 되돌릴 수 없으니 실패한 파일은 로그만 남긴다.
+    private void deleteStored(String key) {
+        List<String> keys = new ArrayList<>(imageVariantProcessor.variantKeys(key).values());
+        keys.add(key);
+
+        for (String stored : keys) {
+            try {
+                imageStorage.delete(stored);
+            } catch (IOException e) {
+                log.warn("failed to delete image {}", stored, e);
+            }
+        }
     }
 
-    private String upload(File uploadFile, String dirName) {
-        String fileName = dirName + "/" + UUID.randomUUID() + "-" + uploadFile.getName();
-        String uploadImageUrl = putS3(uploadFile, fileName);
-        removeNewFile(uploadFile);
-        return uploadImageUrl;
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
-    private String putS3(File uploadFile, String fileName) {
-        amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, uploadFile).withCannedAcl(CannedAccessControlList.PublicRead));
-        return amazonS3Client.getUrl(bucket, fileName).toString();
+    private Optional<ImageDigest> findExisting(String id) {
+        if (imageDigestRepository.addReference(id) == 0) {
+            return Optional.empty();
+        }
+        return imageDigestRepository.findById(id);
     }
 
-    private void removeNewFile(File targetFile) {
-        if (targetFile.delete()) {
-//            log.info("파일이 삭제되었습니다.");
-            System.out.println("파일이 삭제되었습니다.");
+    // 변형이 아직 없으면 없는 URL 대신 원본 URL 을 준다.
+    private ResponseImage responseImage(String key, boolean variants) {
+        ResponseImage responseImage = new ResponseImage();
+        responseImage.setUrl(imageStorage.url(key));
+
+        if (variants) {
+            Map<String, String> variantKeys = imageVariantProcessor.variantKeys(key);
+            responseImage.setThumbnailUrl(imageStorage.url(variantKeys.get("thumbnail")));
+            responseImage.setDisplayUrl(imageStorage.url(variantKeys.get("display")));
         } else {
-//            log.info("파일이 삭제되지 못했습니다.");
-            System.out.println("파일이 삭제되지 못했습니다.");
+            responseImage.setThumbnailUrl(responseImage.getUrl());
+            responseImage.setDisplayUrl(responseImage.getUrl());
         }
+        return responseImage;
     }
 
-    private Optional<File> convert(MultipartFile file) throws IOException {
-        File convertFile = new File(System.getProperty("user.dir") + "/" + file.getOriginalFilename());
-        if(convertFile.createNewFile()) {
-            try (FileOutputStream fos = new FileOutputStream(convertFile)) {
-                fos.write(file.getBytes());
-            }
-            return Optional.of(convertFile);
+    private String digest(MultipartFile multipartFile) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream content = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+            content.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 두 번째로 읽은 내용이 처음과 다르면 key 와 내용이 어긋나므로 지우고 실패시킨다.
+    private void store(String key, String expectedDigest, MultipartFile multipartFile) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream content = new DigestInputStream(multipartFile.getInputStream(), digest)) {
+            imageStorage.store(key, content, multipartFile.getSize(), multipartFile.getContentType());
+        }
+
+        if (!HexFormat.of().formatHex(digest.digest()).equals(expectedDigest)) {
+            imageStorage.delete(key);
+            throw new IOException("업로드 중에 이미지 내용이 바뀌었습니다. " + key);
+        }
+    }
+
+    // 원본 이름의 확장자만 소문자로 남긴다. 경로나 이상한 문자가 들어간 확장자는 버린다.
+    private String extension(MultipartFile multipartFile) {
+        String extension = StringUtils.getFilenameExtension(StringUtils.getFilename(StringUtils.cleanPath(String.valueOf(multipartFile.getOriginalFilename()))));
+        if (extension == null || !extension.matches("[A-Za-z0-9]{1,5}")) {
+            return "";
+        }
+        return "." + extension.toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
-        return Optional.empty();
     }
 }
@@ -0,0 +1,193 @@
+package com.qupp.post.service;
+
+import com.qupp.config.storage.ImageStorage;
+import com.qupp.post.repository.ImageDigestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 업로드한 원본 옆에 폭을 줄인 JPEG 변형(thumbnail, display)을 비동기로 만든다.
+ * question/{digest}-{copy}.png 의 변형은 question/{digest}-{copy}_thumbnail.jpg, question/{digest}-{copy}_display.jpg 이다.
+ * 새로 그린 이미지만 인코딩하므로 EXIF 등 원본의 메타데이터는 남지 않는다.
+ * 큐가 가득 찼거나, 픽셀이 너무 많거나, 디코딩할 수 없으면 변형이 만들어지지 않으므로 모두 저장한 뒤에만 image_digest 에 표시한다.
+ */
+@Slf4j
+@Component
+public class ImageVariantProcessor {
+    private static final String FORMAT = "jpeg";
+    private static final String CONTENT_TYPE = "image/jpeg";
+
+    private final ImageStorage imageStorage;
+    private final ImageDigestRepository imageDigestRepository;
+    private final Executor imageVariantExecutor;
+    // 변형 이름 -> 최대 폭. 원본이 더 좁으면 원본 크기로 다시 인코딩만 한다.
+    private final Map<String, Integer> widths = new LinkedHashMap<>();
+    private final float quality;
+    private final long maxPixels;
+
+    public ImageVariantProcessor(
+            ImageStorage imageStorage,
+            ImageDigestRepository imageDigestRepository,
+            @Qualifier("imageVariantExecutor") Executor imageVariantExecutor,
+            @Value("${qupp.image.variant.thumbnail-width:320}") int thumbnailWidth,
+            @Value("${qupp.image.variant.display-width:1280}") int displayWidth,
+            @Value("${qupp.image.variant.quality:0.8}") float quality,
+            @Value("${qupp.image.variant.max-pixels:50000000}") long maxPixels
+    ) {
+        this.imageStorage = imageStorage;
+        this.imageDigestRepository = imageDigestRepository;
+        this.imageVariantExecutor = imageVariantExecutor;
+        this.widths.put("thumbnail", thumbnailWidth);
+        this.widths.put("display", displayWidth);
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * ImageIO 로 읽을 수 있는 형식(jpeg, png, gif, bmp)만 변형을 만든다.
+     */
+    public boolean supports(String contentType) {
+        return contentType != null && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    /**
+     * 원본 key 에 대한 변형 이름 -> key. 변형이 있는지와 상관없이 같은 key 를 돌려준다.
+     */
+    public Map<String, String> variantKeys(String key) {
+        int slash = key.lastIndexOf('/');
+        int dot = key.lastIndexOf('.');
+        String base = dot > slash ? key.substring(0, dot) : key;
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        widths.keySet().forEach(name -> keys.put(name, base + "_" + name + ".jpg"));
+        return keys;
+    }
+
+    /**
+     * @param id image_digest 의 id. 변형을 모두 저장하면 표시한다.
+     */
+    public void submit(String id, String key) {
+        try {
+            imageVariantExecutor.execute(() -> process(id, key));
+        } catch (RejectedExecutionException e) {
+            log.warn("image variant queue is full, skipped {}", key);
+        }
+    }
+
+    public void process(String id, String key) {
+        try {
+            BufferedImage original = read(key);
+            if (original == null) {
+                log.warn("unsupported image format, skipped variants of {}", key);
+                return;
+            }
+
+            Map<String, String> keys = variantKeys(key);
+            for (Map.Entry<String, Integer> variant : widths.entrySet()) {
+                byte[] encoded = encode(resize(original, variant.getValue()));
+                imageStorage.store(keys.get(variant.getKey()), new ByteArrayInputStream(encoded), encoded.length, CONTENT_TYPE);
+            }
+            imageDigestRepository.markVariants(id);
+        } catch (Exception e) {
+            log.warn("failed to make image variants of {}", key, e);
+        }
+    }
+
+    // 가장 큰 변형의 두 배보다 넓은 이미지는 디코딩할 때부터 픽셀을 건너뛰어 읽어 메모리를 줄인다.
+    private BufferedImage read(String key) throws IOException {
+        try (InputStream content = imageStorage.open(key);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("too many pixels: " + width + "x" + height);
+                }
+
+                int maxWidth = widths.values().stream().mapToInt(Integer::intValue).max().orElse(width);
+                int subsampling = Math.max(1, width / (maxWidth * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 한 번에 많이 줄이면 계단 현상이 생기므로 절반씩 줄여 나간다. 투명한 부분은 흰 배경으로 채운다.
+    private BufferedImage resize(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth);
+
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
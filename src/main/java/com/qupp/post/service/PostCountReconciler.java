@@ -0,0 +1,59 @@
+package com.qupp.post.service;
+
+import com.qupp.post.repository.AnswerRepository;
+import com.qupp.post.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * 질문/답변의 비정규화된 답변 수, 댓글 수를 실제 개수로 다시 맞춘다.
+ * 쓰기 시 증감으로 관리하므로 평소에는 맞지만, 직접 수정한 데이터나 실패한 배치로 어긋난 값을 주기적으로 바로잡는다.
+ * 한 번에 큰 트랜잭션으로 잠그지 않도록 실제로 있는 번호 BATCH_SIZE 개마다 따로 커밋한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PostCountReconciler {
+    private static final int BATCH_SIZE = 1000;
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+
+    @Scheduled(cron = "${qupp.post-count.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        Pageable batch = PageRequest.ofSize(BATCH_SIZE);
+
+        long questions = reconcile(
+                afterId -> questionRepository.findIdsAfter(afterId, batch),
+                questionRepository::reconcileCounts);
+        long answers = reconcile(
+                afterId -> answerRepository.findIdsAfter(afterId, batch),
+                answerRepository::reconcileCounts);
+
+        log.info("post counts reconciled: {} questions, {} answers", questions, answers);
+    }
+
+    // 다음 번호 묶음의 처음과 끝을 구간으로 넘긴다. 그 사이에 다른 번호는 없으므로 묶음만큼만 갱신한다.
+    private long reconcile(LongFunction<List<Long>> nextIds, RangeReconciler reconciler) {
+        long reconciled = 0;
+        List<Long> ids = nextIds.apply(0);
+        while (!ids.isEmpty()) {
+            long last = ids.get(ids.size() - 1);
+            reconciled += reconciler.reconcile(ids.get(0), last);
+            ids = nextIds.apply(last);
+        }
+        return reconciled;
+    }
+
+    @FunctionalInterface
+    private interface RangeReconciler {
+        int reconcile(long fromId, long toId);
+    }
+}
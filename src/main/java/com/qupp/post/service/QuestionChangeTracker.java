@@ -0,0 +1,45 @@
+package com.qupp.post.service;
+
+import com.qupp.post.repository.Category;
+import com.qupp.post.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 질문 스레드(질문, 답변, 댓글)가 바뀌면 쓰기 트랜잭션 안에서 호출한다.
+ * 질문의 리비전을 올려 조건부 조회 검증자를 바꾸고, 상세 조회 캐시를 무효화하고, 목록 버전을 올린다.
+ * 질문의 대분류를 쿼리 없이 알 수 있는 곳에서는 college 를 넘겨서 그 카테고리의 목록만 바뀌게 한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class QuestionChangeTracker {
+
+    private final QuestionRepository questionRepository;
+    private final QuestionDetailCache questionDetailCache;
+    private final QuestionListVersions questionListVersions;
+    private final CategoryRegistry categoryRegistry;
+
+    public void changed(long questionId) {
+        changed(questionId, null);
+    }
+
+    public void changed(long questionId, String college) {
+        questionRepository.touch(questionId, LocalDateTime.now());
+        questionDetailCache.evict(questionId);
+        questionListVersions.changed(categoryId(college));
+    }
+
+    // 새 질문은 리비전도 캐시도 없으므로 목록 버전만 올린다.
+    public void registered(String college) {
+        questionListVersions.changed(categoryId(college));
+    }
+
+    private Long categoryId(String college) {
+        if (college == null) {
+            return null;
+        }
+        return categoryRegistry.findByCollege(college).map(Category::getId).orElse(null);
+    }
+}
@@ -0,0 +1,110 @@
+package com.qupp.post.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qupp.config.datasource.ReadYourWrites;
+import com.qupp.post.dto.response.ResponseAnswer;
+import com.qupp.post.dto.response.ResponseComment;
+import com.qupp.post.dto.response.ResponsePost;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * 질문 상세 조회(GET /question/{id}) 응답을 질문 번호로 캐싱한다.
+ * 용량은 응답에 담긴 글자 수로 추정한 크기 합계로 제한하고,
+ * 질문/답변/댓글이 바뀌면 해당 질문의 항목을 {@link #evict(long)} 로 무효화한다.
+ * 히트/미스/축출 통계는 cache.* 메트릭(cache=question.detail)으로 노출된다.
+ */
+@Component
+public class QuestionDetailCache implements MeterBinder {
+    private static final String NAME = "question.detail";
+
+    // 문자열 외의 필드와 객체 헤더를 대략 잡은 노드당 크기
+    private static final int NODE_OVERHEAD_BYTES = 200;
+
+    private final Cache<Long, ResponsePost> cache;
+
+    public QuestionDetailCache(
+            @Value("${qupp.question-detail-cache.max-weight-bytes:67108864}") long maxWeightBytes,
+            @Value("${qupp.question-detail-cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long id, ResponsePost post) -> weigh(post))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에 없으면 loader 로 조회해서 담는다. loader 가 예외를 던지면 캐싱하지 않는다.
+     * 캐시된 응답과 검증자는 TTL 동안 그대로 쓰이므로, replica 의 지연된 데이터가 담기지 않도록 loader 는 primary 에서 읽는다.
+     */
+    public ResponsePost get(long questionId, LongFunction<ResponsePost> loader) {
+        return cache.get(questionId, id -> ReadYourWrites.onPrimary(() -> loader.apply(id)));
+    }
+
+    public ResponsePost getIfPresent(long questionId) {
+        return cache.getIfPresent(questionId);
+    }
+
+    /**
+     * 즉시 무효화하고, 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 무효화해서
+     * 커밋 전에 다른 요청이 읽어 간 값이 다시 캐싱되지 않도록 한다.
+     */
+    public void evict(long questionId) {
+        cache.invalidate(questionId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                cache.invalidate(questionId);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, NAME);
+    }
+
+    private static int weigh(ResponsePost post) {
+        long bytes = NODE_OVERHEAD_BYTES
+                + 2L * (length(post.getQuestion().getTitle()) + length(post.getQuestion().getContent()))
+                + weighComments(post.getQuestion().getComments());
+
+        if (post.getAnswers() != null) {
+            for (ResponseAnswer answer : post.getAnswers()) {
+                bytes += NODE_OVERHEAD_BYTES + 2L * length(answer.getContent()) + weighComments(answer.getComments());
+            }
+        }
+
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long weighComments(List<ResponseComment> comments) {
+        if (comments == null) {
+            return 0;
+        }
+        return comments.stream()
+                .mapToLong(c -> NODE_OVERHEAD_BYTES + 2L * length(c.getComment()))
+                .sum();
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
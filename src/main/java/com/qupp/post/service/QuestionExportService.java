@@ -0,0 +1,129 @@
+package com.qupp.post.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Comment;
+import com.qupp.post.repository.Question;
+import com.qupp.post.repository.QuestionRepository;
+import com.qupp.user.repository.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 삭제되지 않은 질문 전체를 답변/댓글과 함께 한 줄에 한 질문씩 NDJSON 으로 내보낸다.
+ * 번호 순으로 청크 단위로 읽고, 청크를 쓴 뒤에는 영속성 컨텍스트를 비워서 전체 건수와 상관없이 메모리 사용량이 일정하다.
+ */
+@RequiredArgsConstructor
+@Service
+public class QuestionExportService {
+
+    private final QuestionRepository questionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${qupp.export.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public long export(OutputStream out) throws IOException {
+        return export(out, chunkSize);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(OutputStream out, int chunkSize) throws IOException {
+        long exported = 0;
+        long lastId = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // 응답 스트림은 호출한 쪽에서 닫는다.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // 줄 사이에는 줄바꿈만 둔다. 기본 구분자(" ")가 있으면 두 번째 줄부터 공백으로 시작한다.
+            generator.setRootValueSeparator(null);
+
+            List<Question> questions;
+            do {
+                questions = questionRepository.findExportChunk(lastId, chunkSize);
+
+                for (Question question : questions) {
+                    writeQuestion(generator, question);
+                    generator.writeRaw('\n');
+                    lastId = question.getId();
+                }
+
+                exported += questions.size();
+                generator.flush();
+                entityManager.clear();
+            } while (questions.size() == chunkSize);
+        }
+
+        return exported;
+    }
+
+    private void writeQuestion(JsonGenerator generator, Question question) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", question.getId());
+        generator.writeStringField("title", question.getTitle());
+        generator.writeStringField("content", question.getContent());
+        generator.writeStringField("author", nickname(question.getUser()));
+        if (question.getCategory() != null) {
+            generator.writeStringField("category", question.getCategory().getCollege());
+            generator.writeStringField("subCategory", question.getCategory().getSubCategory() == null
+                    ? null : question.getCategory().getSubCategory().getDept());
+        }
+        writeTime(generator, "registerTime", question.getRegisterTime());
+        writeTime(generator, "updateTime", question.getUpdateTime());
+
+        writeComments(generator, question.getComments());
+
+        generator.writeArrayFieldStart("answers");
+        for (Answer answer : sorted(question.getAnswers(), Comparator.comparingLong(Answer::getId))) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", answer.getId());
+            generator.writeStringField("content", answer.getContent());
+            generator.writeStringField("author", nickname(answer.getUser()));
+            writeTime(generator, "registerTime", answer.getRegisterTime());
+            writeTime(generator, "updateTime", answer.getUpdateTime());
+            writeComments(generator, answer.getComments());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    private void writeComments(JsonGenerator generator, List<Comment> comments) throws IOException {
+        generator.writeArrayFieldStart("comments");
+        for (Comment comment : sorted(comments, Comparator.comparingLong(Comment::getId))) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", comment.getId());
+            generator.writeStringField("comment", comment.getComment());
+            generator.writeStringField("author", nickname(comment.getUser()));
+            writeTime(generator, "registerTime", comment.getRegisterTime());
+            writeTime(generator, "updateTime", comment.getUpdateTime());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeTime(JsonGenerator generator, String field, LocalDateTime time) throws IOException {
+        generator.writeStringField(field, time == null ? null : time.toString());
+    }
+
+    private String nickname(User user) {
+        return user == null ? null : user.getNickname();
+    }
+
+    private <T> List<T> sorted(List<T> values, Comparator<T> comparator) {
+        return values == null ? List.of() : values.stream().sorted(comparator).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.qupp.post.service;
+
+import com.qupp.post.dto.inner.QuestionListState;
+import com.qupp.post.dto.inner.QuestionValidator;
+import com.qupp.post.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 질문 목록(GET /questions) 조건부 조회에 쓰는 카테고리별 버전을 메모리에 둔다.
+ * 목록 요청마다 집계 쿼리를 실행하지 않도록, 질문 스레드가 바뀌면 QuestionChangeTracker 가 해당 카테고리와 전체 목록의 버전을 올린다.
+ * 카테고리를 모르는 변경은 모든 목록의 버전을 올린다.
+ * 다른 인스턴스나 일괄 등록으로 바뀐 목록은 주기적으로 카테고리별 상태를 읽어 이전과 다르면 버전을 올린다.
+ * 버전은 인스턴스마다 0 부터 시작하므로 시작 시각(epoch)을 ETag 에 함께 넣어 재시작 전의 ETag 와 겹치지 않게 한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class QuestionListVersions {
+    // 전체 목록. 카테고리 번호는 1 부터 시작한다.
+    private static final long ALL = 0L;
+
+    private final QuestionRepository questionRepository;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final LocalDateTime startTime = LocalDateTime.now();
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile LocalDateTime generationModified = startTime;
+    private volatile Map<Long, QuestionListState> states;
+
+    public QuestionValidator validator(Long categoryId, Pageable pageable) {
+        LocalDateTime modified = generationModified;
+        long current = generation.get();
+        Version version = versions.getOrDefault(key(categoryId), new Version(0, startTime));
+
+        return QuestionValidator.ofList(
+                epoch + "-" + current + "-" + version.value(),
+                categoryId,
+                pageable,
+                version.modified().isAfter(modified) ? version.modified() : modified
+        );
+    }
+
+    /**
+     * categoryId 가 null 이면 모든 목록이 바뀐 것으로 본다.
+     * 즉시 올리고, 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 올려서
+     * 커밋 전에 다른 요청이 읽어 간 목록이 새 버전으로 응답되지 않도록 한다.
+     */
+    public void changed(Long categoryId) {
+        bump(categoryId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bump(categoryId);
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${qupp.question-list.refresh-interval-ms:60000}",
+            fixedDelayString = "${qupp.question-list.refresh-interval-ms:60000}"
+    )
+    public void refresh() {
+        Map<Long, QuestionListState> next = new HashMap<>();
+        questionRepository.findListStates().forEach(state -> next.put(key(state.getCategoryId()), state));
+
+        Map<Long, QuestionListState> previous = states;
+        states = next;
+        if (previous == null) {
+            return;
+        }
+
+        Set<Long> keys = new HashSet<>(previous.keySet());
+        keys.addAll(next.keySet());
+        for (Long key : keys) {
+            if (!Objects.equals(previous.get(key), next.get(key))) {
+                log.debug("question list of category {} changed elsewhere", key);
+                bump(key == ALL ? null : key);
+            }
+        }
+    }
+
+    private void bump(Long categoryId) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (categoryId == null) {
+            generationModified = now;
+            generation.incrementAndGet();
+            return;
+        }
+
+        Version first = new Version(1, now);
+        versions.merge(categoryId, first, (old, ignored) -> new Version(old.value() + 1, now));
+        versions.merge(ALL, first, (old, ignored) -> new Version(old.value() + 1, now));
+    }
+
+    private static long key(Long categoryId) {
+        return categoryId == null ? ALL : categoryId;
+    }
+
+    private record Version(long value, LocalDateTime modified) {
+    }
+}
@@ -1,10 +1,16 @@
 package com.qupp.post.service;
 
+import com.qupp.post.dto.inner.QuestionCursor;
+import com.qupp.post.dto.inner.QuestionValidator;
 import com.qupp.post.dto.inner.ResponseCategory;
 import com.qupp.post.dto.request.RequestRegisterQuestion;
 import com.qupp.post.dto.request.RequestUpdateQuestion;
+import com.qupp.post.dto.response.ResponseCursorPage;
 import com.qupp.post.dto.response.ResponsePost;
 import com.qupp.post.dto.response.ResponseQuestion;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.College;
 import com.qupp.post.repository.Question;
 import com.qupp.post.repository.QuestionRepository;
 import com.qupp.user.controller.dto.response.ResponseUser;
@@ -15,8 +21,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -25,6 +35,12 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
     private final PostComponent postComponent;
+    private final QuestionDetailCache questionDetailCache;
+    private final QuestionChangeTracker questionChangeTracker;
+    private final QuestionListVersions questionListVersions;
+    private final TrendingRanking trendingRanking;
+    private final ViewCounter viewCounter;
+    private final ImageService imageService;
 
     @Transactional
     public ResponsePost register(
@@ -37,11 +53,13 @@ public class QuestionService {
         question.addCategory(responseCategory.getCategory());
 
         question = questionRepository.save(question);
+        questionChangeTracker.registered(responseCategory.getCategory().getCollege());
+        trendingRanking.questionRegistered(question.getId(), responseCategory.getCategory().getCollege());
 
         return postComponent.getResponsePost(question);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseQuestion findOne(long id) {
         Question question = questionRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
@@ -49,33 +67,57 @@ public class QuestionService {
         return getResponseQuestion(question);
     }
 
-    @Transactional
-    public Page<ResponsePost> findAll(Pageable pageable) {
-        Page<ResponsePost> questions = questionRepository.findAll(pageable)
-                .map(q -> getResponseQuestionWithPost(q));
+    @Transactional(readOnly = true)
+    public Page<ResponseQuestionSummary> findAll(Pageable pageable) {
+        return questionRepository.findSummaries(null, pageable);
+    }
 
-        return questions;
+    @Transactional(readOnly = true)
+    public Page<ResponseQuestionSummary> pagingByCategory(Long categoryId, Pageable pageable) {
+        return questionRepository.findSummaries(categoryId, pageable);
     }
 
-    @Transactional
-    public Page<ResponsePost> pagingByCategory(Long categoryId, Pageable pageable) {
-        Page<ResponsePost> questions = questionRepository.findByCategoryId(categoryId, pageable)
-                .map(q -> getResponseQuestionWithPost(q));
+    @Transactional(readOnly = true)
+    public ResponseCursorPage<ResponseQuestionSummary> findAllByCursor(Long categoryId, String cursor, int size) {
+        QuestionCursor after = cursor == null || cursor.isBlank() ? null : QuestionCursor.decode(cursor);
 
-        return questions;
+        // 다음 페이지 존재 여부를 count 없이 판단하기 위해 한 개 더 조회한다.
+        List<ResponseQuestionSummary> questions = questionRepository.findSummariesAfter(categoryId, after, size + 1);
+
+        if (questions.size() <= size) {
+            return new ResponseCursorPage<>(questions, null);
+        }
+
+        questions = questions.subList(0, size);
+        ResponseQuestionSummary last = questions.get(size - 1);
+
+        return new ResponseCursorPage<>(questions, new QuestionCursor(last.getRegisterTime(), last.getId()).encode());
     }
 
-    private ResponsePost getResponseQuestionWithPost(Question question) {
-        return postComponent.getResponsePost(question);
+    //    인기 질문 순서대로 목록 정보를 반환한다. college 가 null 이면 전체 대분류.
+    @Transactional(readOnly = true)
+    public List<ResponseQuestionSummary> findTrending(College college, int size) {
+        List<Long> ids = Arrays.stream(trendingRanking.top(college, size)).boxed().toList();
+
+        Map<Long, ResponseQuestionSummary> summaries = questionRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ResponseQuestionSummary::getId, Function.identity()));
+
+        // 순위를 만든 뒤 삭제된 질문은 빠진다.
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     @Transactional
     public ResponsePost update(long id, RequestUpdateQuestion updateQuestion) {
         Question question = questionRepository.findById(id).orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
 
+        imageService.releaseRemoved(question.getContent(), updateQuestion.getContent());
         question.setTitle(updateQuestion.getTitle());
         question.setContent(updateQuestion.getContent());
         question.setUpdateTime(LocalDateTime.now());
+        questionChangeTracker.changed(id, college(question));
 
         return postComponent.getResponsePost(question);
     }
@@ -85,12 +127,22 @@ public class QuestionService {
         Question question = questionRepository.findById(id).orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
 
         question.delete();
+        imageService.releaseAll(question.getContent());
+        // 질문과 함께 보이지 않게 되는 답변도 지우고 이미지 참조를 푼다. 지운 답변은 답변 삭제로 다시 풀리지 않는다.
+        if (question.getAnswers() != null) {
+            for (Answer answer : question.getAnswers()) {
+                answer.delete();
+                imageService.releaseAll(answer.getContent());
+            }
+        }
+        questionChangeTracker.changed(id, college(question));
+        trendingRanking.removed(id);
 
         return null;
     }
 
     //    글 목록에서 필요한 정보를 담기 위한 메서드. 질문글 정보 + 유저 정보
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseQuestion getResponseQuestion(Question q) {
         ResponseQuestion responseQuestion = new ResponseQuestion().fromEntity(q);
 
@@ -101,11 +153,60 @@ public class QuestionService {
     }
 
     //    상세글 조회 시에 필요한 정보를 담기 위한 메서드. 질문글 + 답변글 + 유저 정보
-    @Transactional
+    //    캐시 히트 시 트랜잭션/커넥션을 사용하지 않도록 조회 트랜잭션은 findDetailById 에서만 연다.
     public ResponsePost getResponsePost(long id) {
-        Question question = questionRepository.findById(id)
+        return questionDetailCache.get(id, this::loadResponsePost);
+    }
+
+    //    상세 페이지 조회. 답변/댓글 등록 후 돌려주는 응답과 구분해서 조회로 기록한다.
+    //    캐시된 응답의 조회 수는 캐시가 무효화되거나 만료될 때까지 갱신되지 않는다.
+    public ResponsePost view(long id, String viewer) {
+        ResponsePost responsePost = getResponsePost(id);
+        recordView(id, viewer);
+
+        return responsePost;
+    }
+
+    //    본문 없이 304 로 응답하는 재검증 요청도 조회로 기록한다. 대분류는 캐시된 응답이 있을 때만 넘기고, 없으면 인기 순위가 찾는다.
+    public void recordView(long id, String viewer) {
+        ResponsePost cached = questionDetailCache.getIfPresent(id);
+
+        viewCounter.record(id, viewer);
+        trendingRanking.viewed(id, cached == null ? null : cached.getQuestion().getCategory());
+    }
+
+    private ResponsePost loadResponsePost(long id) {
+        Question question = questionRepository.findDetailById(id)
                 .orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
 
-        return postComponent.getResponsePost(question);
+        ResponsePost responsePost = postComponent.getResponsePost(question);
+        responsePost.setValidator(QuestionValidator.ofQuestion(
+                id,
+                question.getRevision(),
+                question.getModifiedTime() == null ? question.getUpdateTime() : question.getModifiedTime()
+        ));
+
+        return responsePost;
+    }
+
+    //    상세 조회 조건부 요청에 사용할 검증자. 캐시된 응답이 있으면 쿼리 없이 그 검증자를 사용한다.
+    public QuestionValidator getValidator(long id) {
+        ResponsePost cached = questionDetailCache.getIfPresent(id);
+
+        if (cached != null && cached.getValidator() != null) {
+            return cached.getValidator();
+        }
+
+        return questionRepository.findValidatorById(id)
+                .orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
+    }
+
+    //    목록 조건부 요청에 사용할 검증자. 쿼리 없이 메모리의 목록 버전으로 만든다.
+    public QuestionValidator getListValidator(Long categoryId, Pageable pageable) {
+        return questionListVersions.validator(categoryId, pageable);
+    }
+
+    private String college(Question question) {
+        return question.getCategory() == null ? null : question.getCategory().getCollege();
     }
 }
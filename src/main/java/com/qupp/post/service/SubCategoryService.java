@@ -1,8 +1,7 @@
 package com.qupp.post.service;
 
 import com.qupp.post.dto.inner.ResponseCategory;
-import com.qupp.post.repository.SubCategory;
-import com.qupp.post.repository.SubCategoryRepository;
+import com.qupp.post.repository.Category;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,12 +11,12 @@ import java.util.NoSuchElementException;
 @Service
 public class SubCategoryService {
 
-    private final SubCategoryRepository subCategoryRepository;
+    private final CategoryRegistry categoryRegistry;
 
     public ResponseCategory getCategory(String dept) {
         ResponseCategory responseCategory = new ResponseCategory();
-        SubCategory subCategory = subCategoryRepository.findByDept(dept).orElseThrow(() -> new NoSuchElementException("대분류가 존재하지 않습니다."));
-        responseCategory.addCategory(subCategory.getCategory());
+        Category category = categoryRegistry.findByDept(dept).orElseThrow(() -> new NoSuchElementException("대분류가 존재하지 않습니다."));
+        responseCategory.addCategory(category);
         return responseCategory;
     }
 }
@@ -0,0 +1,344 @@
+package com.qupp.post.service;
+
+import com.qupp.post.dto.inner.TrendingEvent;
+import com.qupp.post.repository.College;
+import com.qupp.post.repository.QuestionRepository;
+import com.qupp.post.service.TrendingScores.Top;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대분류별 인기 질문 순위를 메모리에서 유지한다.
+ *
+ * 질문 등록/답변/댓글/조회마다 가중치를 더하고, 점수는 half-life 마다 절반으로 줄어든다.
+ * 모든 점수를 주기적으로 줄이는 대신 기준 시각(base) 기준으로 w * 2^((t - base) / half-life) 를 더해 두므로
+ * 저장된 값끼리의 순서가 곧 현재 점수의 순서가 된다. 지수가 너무 커지면 기준 시각을 옮기며 전체를 한 번 줄인다.
+ *
+ * 쓰기는 잠금 하나로 직렬화하고, 조회는 refresh-interval 마다 다시 계산하는 대분류별 상위 capacity 개 스냅샷을 읽으므로
+ * 요청 경로에서 DB 나 잠금을 거치지 않는다. 시작 시 최근 window 동안의 등록/답변/댓글로 점수를 다시 만든다.
+ * 가장 잦은 활동인 조회는 잠금 없이 ConcurrentHashMap 에 질문별 횟수만 모아 두고, refresh 에서 꺼내 한 번에 점수에 더한다.
+ * 그래서 조회는 다음 refresh 부터 점수에 반영되고, 그동안의 감쇠(refresh-interval 정도)는 무시한다.
+ */
+@Slf4j
+@Component
+public class TrendingRanking {
+    private static final College[] COLLEGES = College.values();
+    // 2^64 배를 넘기 전에 기준 시각을 옮긴다.
+    private static final double MAX_EXPONENT = 64;
+
+    private final QuestionRepository questionRepository;
+    private final double halfLifeMillis;
+    private final Duration window;
+    private final int capacity;
+    private final double minScore;
+    private final Map<TrendingEvent.Type, Double> weights;
+
+    private final Object lock = new Object();
+    private TrendingScores[] scores = newScores();
+    private long baseMillis;
+    private boolean dirty;
+
+    // 대분류 순서대로, 마지막은 대분류를 모르는 조회. 질문 번호 -> 아직 점수에 더하지 않은 조회 수
+    private final List<Map<Long, Long>> pendingViews = newPendingViews();
+
+    private volatile Ranking ranking = Ranking.EMPTY;
+
+    public TrendingRanking(
+            QuestionRepository questionRepository,
+            @Value("${qupp.trending.half-life:6h}") Duration halfLife,
+            @Value("${qupp.trending.window:3d}") Duration window,
+            @Value("${qupp.trending.capacity:100}") int capacity,
+            @Value("${qupp.trending.min-score:0.05}") double minScore,
+            @Value("${qupp.trending.weight.question:1}") double questionWeight,
+            @Value("${qupp.trending.weight.answer:3}") double answerWeight,
+            @Value("${qupp.trending.weight.comment:2}") double commentWeight,
+            @Value("${qupp.trending.weight.view:0.2}") double viewWeight
+    ) {
+        this.questionRepository = questionRepository;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.window = window;
+        this.capacity = capacity;
+        this.minScore = minScore;
+        this.weights = new EnumMap<>(Map.of(
+                TrendingEvent.Type.QUESTION, questionWeight,
+                TrendingEvent.Type.ANSWER, answerWeight,
+                TrendingEvent.Type.COMMENT, commentWeight,
+                TrendingEvent.Type.VIEW, viewWeight));
+        this.baseMillis = System.currentTimeMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        List<TrendingEvent> events = questionRepository.findTrendingEvents(since);
+
+        long base = System.currentTimeMillis();
+        TrendingScores[] rebuilt = newScores();
+        for (TrendingEvent event : events) {
+            College college = college(event.getCollege());
+            if (college != null) {
+                rebuilt[college.ordinal()].add(event.getQuestionId(), contribution(event.getType(), toMillis(event.getTime()), base));
+            }
+        }
+
+        // 다시 만드는 동안 들어온 활동은 반영되지 않는다.
+        synchronized (lock) {
+            scores = rebuilt;
+            baseMillis = base;
+            dirty = true;
+        }
+        refresh();
+        log.info("trending ranking rebuilt from {} events since {}", events.size(), since);
+    }
+
+    /**
+     * 질문이 등록되었을 때. 트랜잭션 안에서 호출하면 커밋된 뒤에 반영한다.
+     */
+    public void questionRegistered(long questionId, String college) {
+        record(questionId, college, TrendingEvent.Type.QUESTION);
+    }
+
+    /**
+     * @param college 질문의 대분류. 모르면 null (이미 순위에 있는 질문이면 그 대분류, 없으면 DB 에서 찾는다)
+     */
+    public void answered(long questionId, String college) {
+        record(questionId, college, TrendingEvent.Type.ANSWER);
+    }
+
+    public void commented(long questionId, String college) {
+        record(questionId, college, TrendingEvent.Type.COMMENT);
+    }
+
+    public void viewed(long questionId, String college) {
+        afterCommit(() -> {
+            College resolved = college(college);
+            if (college != null && resolved == null) {
+                return;
+            }
+
+            int slot = resolved == null ? COLLEGES.length : resolved.ordinal();
+            pendingViews.get(slot).merge(questionId, 1L, Long::sum);
+        });
+    }
+
+    public void removed(long questionId) {
+        afterCommit(() -> {
+            pendingViews.forEach(views -> views.remove(questionId));
+            synchronized (lock) {
+                for (TrendingScores shard : scores) {
+                    shard.remove(questionId);
+                }
+                dirty = true;
+            }
+        });
+    }
+
+    /**
+     * 대분류의 인기 질문 번호를 점수 순서대로 최대 size 개 반환한다. college 가 null 이면 전체.
+     */
+    public long[] top(College college, int size) {
+        Top top = college == null ? ranking.all() : ranking.byCollege().get(college);
+        return Arrays.copyOf(top.ids(), Math.min(size, top.ids().length));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 현재 시각 기준으로 감쇠된 점수. 순위에 없으면 0.
+     */
+    public double score(long questionId) {
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            for (TrendingScores shard : scores) {
+                if (shard.contains(questionId)) {
+                    return shard.get(questionId) * Math.pow(2, -(now - baseMillis) / halfLifeMillis);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 바뀐 점수가 있으면 대분류별 상위 capacity 개 스냅샷을 다시 만든다.
+     * 이때 감쇠해서 min-score 아래로 내려간 질문을 지우고, 필요하면 기준 시각을 옮긴다.
+     */
+    @Scheduled(fixedDelayString = "${qupp.trending.refresh-interval-ms:1000}")
+    public void refresh() {
+        Map<College, Top> byCollege = new EnumMap<>(College.class);
+        List<Map<Long, Long>> views = drainViews();
+
+        synchronized (lock) {
+            long viewedAt = System.currentTimeMillis();
+            for (College college : COLLEGES) {
+                Map<Long, Long> counts = views.get(college.ordinal());
+                if (counts.isEmpty()) {
+                    continue;
+                }
+
+                double contribution = contribution(TrendingEvent.Type.VIEW, viewedAt, baseMillis);
+                TrendingScores shard = scores[college.ordinal()];
+                counts.forEach((questionId, count) -> shard.add(questionId, count * contribution));
+                dirty = true;
+            }
+
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+
+            long now = System.currentTimeMillis();
+            double exponent = (now - baseMillis) / halfLifeMillis;
+            if (exponent > MAX_EXPONENT) {
+                double shift = Math.floor(exponent);
+                for (TrendingScores shard : scores) {
+                    shard.scale(Math.pow(2, -shift));
+                }
+                baseMillis += (long) (shift * halfLifeMillis);
+                exponent -= shift;
+            }
+
+            double threshold = minScore * Math.pow(2, exponent);
+            for (College college : COLLEGES) {
+                TrendingScores shard = scores[college.ordinal()];
+                shard.removeBelow(threshold);
+                byCollege.put(college, shard.top(capacity));
+            }
+        }
+
+        ranking = new Ranking(byCollege, Top.merge(byCollege.values(), capacity));
+    }
+
+    private void record(long questionId, String college, TrendingEvent.Type type) {
+        afterCommit(() -> {
+            College resolved = college != null ? college(college) : findCollege(questionId);
+            if (resolved == null) {
+                return;
+            }
+
+            synchronized (lock) {
+                scores[resolved.ordinal()].add(questionId, contribution(type, System.currentTimeMillis(), baseMillis));
+                dirty = true;
+            }
+        });
+    }
+
+    // 버퍼에서 꺼낸 조회 수를 대분류별로 모은다. 대분류를 모르는 조회는 잠금 밖에서 찾는다.
+    private List<Map<Long, Long>> drainViews() {
+        List<Map<Long, Long>> drained = new ArrayList<>();
+        for (int slot = 0; slot < COLLEGES.length; slot++) {
+            drained.add(drain(pendingViews.get(slot)));
+        }
+
+        drain(pendingViews.get(COLLEGES.length)).forEach((questionId, count) -> {
+            College college = findCollege(questionId);
+            if (college != null) {
+                drained.get(college.ordinal()).merge(questionId, count, Long::sum);
+            }
+        });
+        return drained;
+    }
+
+    // remove 는 키 단위로 원자적이므로 꺼내는 중에 더해진 조회는 빠지지 않고 다음 refresh 로 넘어간다.
+    private static Map<Long, Long> drain(Map<Long, Long> views) {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long questionId : views.keySet()) {
+            Long count = views.remove(questionId);
+            if (count != null) {
+                drained.put(questionId, count);
+            }
+        }
+        return drained;
+    }
+
+    private College findCollege(long questionId) {
+        synchronized (lock) {
+            for (College college : COLLEGES) {
+                if (scores[college.ordinal()].contains(questionId)) {
+                    return college;
+                }
+            }
+        }
+        return questionRepository.findCollegeById(questionId).map(this::college).orElse(null);
+    }
+
+    private double contribution(TrendingEvent.Type type, long timeMillis, long base) {
+        return weights.getOrDefault(type, 0.0) * Math.pow(2, (timeMillis - base) / halfLifeMillis);
+    }
+
+    private College college(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return College.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 롤백된 활동이 점수에 남지 않도록 트랜잭션이 있으면 커밋된 뒤에 실행한다.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static List<Map<Long, Long>> newPendingViews() {
+        List<Map<Long, Long>> views = new ArrayList<>();
+        for (int slot = 0; slot <= COLLEGES.length; slot++) {
+            views.add(new ConcurrentHashMap<>());
+        }
+        return views;
+    }
+
+    private static TrendingScores[] newScores() {
+        TrendingScores[] scores = new TrendingScores[COLLEGES.length];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = new TrendingScores();
+        }
+        return scores;
+    }
+
+    private record Ranking(Map<College, Top> byCollege, Top all) {
+        static final Ranking EMPTY = new Ranking(emptyByCollege(), Top.EMPTY);
+
+        private static Map<College, Top> emptyByCollege() {
+            Map<College, Top> byCollege = new EnumMap<>(College.class);
+            for (College college : COLLEGES) {
+                byCollege.put(college, Top.EMPTY);
+            }
+            return byCollege;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.qupp.post.service;
+
+/**
+ * 질문 번호(long) → 점수(double) 해시 맵. 박싱 없이 두 배열에 선형 탐사로 저장한다.
+ * 질문 번호는 0 이 될 수 없으므로 0 을 빈 칸 표시로 쓴다. 동기화하지 않으므로 TrendingRanking 의 잠금 안에서만 사용한다.
+ */
+final class TrendingScores {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+
+    TrendingScores() {
+        allocate(64);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long key) {
+        return slot(key) >= 0;
+    }
+
+    double get(long key) {
+        int slot = slot(key);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    void add(long key, double delta) {
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] += delta;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+
+        // 채움률 1/2 를 넘으면 두 배로 늘린다.
+        if (++size > (mask + 1) >> 1) {
+            rehash((mask + 1) << 1);
+        }
+    }
+
+    void remove(long key) {
+        int hole = slot(key);
+        if (hole < 0) {
+            return;
+        }
+
+        // 뒤에 이어진 항목 중 원래 자리가 hole 이전인 것을 당겨와서 탐사 경로가 끊기지 않게 한다.
+        int i = (hole + 1) & mask;
+        while (keys[i] != EMPTY) {
+            int ideal = index(keys[i]);
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        values[hole] = 0;
+        size--;
+    }
+
+    void scale(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            values[i] *= factor;
+        }
+    }
+
+    // threshold 보다 작은 점수를 모두 지우고 크기에 맞게 다시 만든다.
+    void removeBelow(double threshold) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int remaining = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldValues[i] >= threshold) {
+                remaining++;
+            }
+        }
+
+        allocate(Math.max(64, Integer.highestOneBit(Math.max(remaining, 1)) << 2));
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldValues[i] >= threshold) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * 점수가 높은 순서로 최대 limit 개. 크기 limit 의 최소 힙으로 O(n log limit) 에 고른다.
+     */
+    Top top(int limit) {
+        long[] heapKeys = new long[limit];
+        double[] heapValues = new double[limit];
+        int count = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == EMPTY) {
+                continue;
+            }
+            if (count < limit) {
+                heapKeys[count] = keys[i];
+                heapValues[count] = values[i];
+                siftUp(heapKeys, heapValues, count++);
+            } else if (limit > 0 && values[i] > heapValues[0]) {
+                heapKeys[0] = keys[i];
+                heapValues[0] = values[i];
+                siftDown(heapKeys, heapValues, 0, count);
+            }
+        }
+
+        // 힙에서 최솟값을 하나씩 꺼내 뒤에서부터 채우면 내림차순이 된다.
+        long[] ids = new long[count];
+        double[] scores = new double[count];
+        for (int n = count; n > 0; n--) {
+            ids[n - 1] = heapKeys[0];
+            scores[n - 1] = heapValues[0];
+            heapKeys[0] = heapKeys[n - 1];
+            heapValues[0] = heapValues[n - 1];
+            siftDown(heapKeys, heapValues, 0, n - 1);
+        }
+        return new Top(ids, scores);
+    }
+
+    private int slot(long key) {
+        int i = index(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static void siftUp(long[] keys, double[] values, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >> 1;
+            if (values[parent] <= values[i]) {
+                return;
+            }
+            swap(keys, values, parent, i);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] keys, double[] values, int i, int size) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && values[left] < values[smallest]) {
+                smallest = left;
+            }
+            if (right < size && values[right] < values[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(keys, values, smallest, i);
+            i = smallest;
+        }
+    }
+
+    private static void swap(long[] keys, double[] values, int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        double value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    /**
+     * 점수 내림차순으로 정렬된 질문 번호와 점수.
+     */
+    record Top(long[] ids, double[] scores) {
+        static final Top EMPTY = new Top(new long[0], new double[0]);
+
+        // 이미 정렬된 여러 Top 을 합쳐 상위 limit 개를 만든다.
+        static Top merge(Iterable<Top> tops, int limit) {
+            TrendingScores all = new TrendingScores();
+            for (Top top : tops) {
+                for (int i = 0; i < top.ids.length; i++) {
+                    all.add(top.ids[i], top.scores[i]);
+                }
+            }
+            return all.top(limit);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.qupp.post.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 질문 조회 수와 고유 조회자 수를 메모리에 모았다가 flush-interval 마다 묶어서 DB 에 반영한다.
+ * 조회 요청은 LongAdder 와 HyperLogLog 레지스터만 갱신하므로 question 행을 잠그지 않는다.
+ *
+ * flush 는 모으던 세대(Generation)를 새 세대로 바꾸고, 이전 세대에 기록 중인 요청이 끝나기를 기다렸다가 저장한다.
+ * 기록하는 쪽은 세대의 writers 를 올린 뒤 닫혔는지 확인하고, flush 는 세대를 닫은 뒤 writers 를 확인하므로
+ * 둘 중 한쪽은 반드시 상대를 보게 되어 잠금 없이도 조회가 누락되지 않는다.
+ * 저장에 실패한 묶음은 모으고 있는 세대에 다시 합쳐서 다음 flush 때 저장하고, flush-max-attempts 번 실패하면 버린다.
+ */
+@Slf4j
+@Component
+public class ViewCounter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private volatile Generation current = new Generation();
+
+    public ViewCounter(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${qupp.view.flush-batch-size:500}") int batchSize,
+            @Value("${qupp.view.flush-max-attempts:3}") int maxAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param viewer 고유 조회자를 구분하는 값 (회원 번호, 비회원이면 IP 등)
+     */
+    public void record(long questionId, String viewer) {
+        while (true) {
+            Generation generation = current;
+            generation.writers.increment();
+            try {
+                if (!generation.closed) {
+                    Pending pending = generation.pending.computeIfAbsent(questionId, id -> new Pending());
+                    pending.views.increment();
+                    pending.viewers.add(viewer);
+                    return;
+                }
+            } finally {
+                generation.writers.decrement();
+            }
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${qupp.view.flush-interval-ms:5000}",
+            fixedDelayString = "${qupp.view.flush-interval-ms:5000}"
+    )
+    @PreDestroy
+    public synchronized void flush() {
+        Generation ready = current;
+        current = new Generation();
+        ready.closed = true;
+
+        while (ready.writers.sum() != 0) {
+            Thread.onSpinWait();
+        }
+
+        if (!ready.pending.isEmpty()) {
+            write(ready.pending);
+        }
+    }
+
+    private void write(Map<Long, Pending> ready) {
+        // 여러 노드가 동시에 flush 해도 같은 순서로 행을 잠그도록 번호 순으로 처리한다.
+        List<Long> ids = ready.keySet().stream().sorted().toList();
+
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeBatch(batch, ready));
+            } catch (RuntimeException e) {
+                log.warn("failed to flush views of {} questions", batch.size(), e);
+                requeue(batch, ready);
+            }
+        }
+    }
+
+    // flush 안에서만 호출하므로 current 가 닫히는 일은 없다. 같은 질문을 기록 중인 요청과는 LongAdder/CAS 로 합쳐진다.
+    private void requeue(List<Long> ids, Map<Long, Pending> ready) {
+        int dropped = 0;
+        for (long id : ids) {
+            Pending failed = ready.get(id);
+            if (failed.failures + 1 >= maxAttempts) {
+                dropped++;
+                continue;
+            }
+
+            Pending pending = current.pending.computeIfAbsent(id, questionId -> new Pending());
+            pending.views.add(failed.views.sum());
+            pending.viewers.addAll(failed.viewers);
+            pending.failures = Math.max(pending.failures, failed.failures + 1);
+        }
+
+        if (dropped > 0) {
+            log.error("dropped views of {} questions after {} failed flushes", dropped, maxAttempts);
+        }
+    }
+
+    /*
+    1. SELECT question_id, sketch FROM question_view WHERE question_id IN (...) FOR UPDATE
+    2. 저장된 레지스터와 메모리의 레지스터를 합쳐 UPDATE / INSERT question_view (JDBC batch)
+    3. UPDATE question SET view_count = view_count + ?, viewer_count = ? WHERE id = ? (JDBC batch)
+     */
+    private void writeBatch(List<Long> ids, Map<Long, Pending> ready) {
+        Map<Long, byte[]> stored = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "select question_id, sketch from question_view where question_id in (:ids) for update",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    stored.put(rs.getLong("question_id"), rs.getBytes("sketch"));
+                });
+
+        List<Object[]> sketchUpdates = new ArrayList<>();
+        List<Object[]> sketchInserts = new ArrayList<>();
+        List<Object[]> questionUpdates = new ArrayList<>();
+        for (long id : ids) {
+            Pending pending = ready.get(id);
+            byte[] sketch = ViewerSketch.merge(stored.get(id), pending.viewers.toBytes());
+
+            if (stored.containsKey(id)) {
+                sketchUpdates.add(new Object[]{sketch, id});
+            } else {
+                sketchInserts.add(new Object[]{id, sketch});
+            }
+            questionUpdates.add(new Object[]{pending.views.sum(), ViewerSketch.estimate(sketch), id});
+        }
+
+        jdbcTemplate.batchUpdate("update question_view set sketch = ? where question_id = ?", sketchUpdates);
+        jdbcTemplate.batchUpdate("insert into question_view (question_id, sketch) values (?, ?)", sketchInserts);
+        jdbcTemplate.batchUpdate("update question set view_count = view_count + ?, viewer_count = ? where id = ?", questionUpdates);
+    }
+
+    private static class Generation {
+        private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+        private final LongAdder writers = new LongAdder();
+        private volatile boolean closed;
+    }
+
+    private static class Pending {
+        private final LongAdder views = new LongAdder();
+        private final ViewerSketch viewers = new ViewerSketch();
+        // 저장에 실패한 횟수. flush 에서만 읽고 쓴다.
+        private int failures;
+    }
+}
@@ -2,7 +2,7 @@ package com.qupp.user.controller;
 
 import com.qupp.jwt.UserContext;
 import com.qupp.jwt.Util;
-import com.qupp.post.dto.response.ResponseQuestion;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
 import com.qupp.user.controller.dto.request.RequestCreateUser;
 import com.qupp.user.controller.dto.request.RequestEmailUpdate;
 import com.qupp.user.controller.dto.request.RequestLogin;
@@ -156,7 +156,7 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "유저 질문 조회 , 접근 제한 API", description = "id를 입력받아서, 유저가 작성한 질문 목록을 조회", tags = "user")
     @GetMapping("/user/{id}/questions")
-    public ResponseEntity<Page<ResponseQuestion>> findUserQuestions(
+    public ResponseEntity<Page<ResponseQuestionSummary>> findUserQuestions(
             @PathVariable long id,
             @RequestParam(value = "page", defaultValue = "0") int page
     ) {
@@ -167,7 +167,7 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "유저 답변 조회 , 접근 제한 API", description = "id를 입력받아서, 유저가 작성한 답변글이 달린 질문을 조회", tags = "user")
     @GetMapping("/user/{id}/answers")
-    public ResponseEntity<Page<ResponseQuestion>> findUserAnswers(
+    public ResponseEntity<Page<ResponseQuestionSummary>> findUserAnswers(
             @PathVariable long id,
             @RequestParam(value = "page", defaultValue = "0") int page
     ) {
@@ -178,7 +178,7 @@ public class UserController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "유저 댓글 조회 , 접근 제한 API", description = "id를 입력받아서, 유저가 작성한 댓글이 달린 질문을 조회", tags = "user")
     @GetMapping("/user/{id}/comments")
-    public ResponseEntity<Page<ResponseQuestion>> findUserComments(
+    public ResponseEntity<Page<ResponseQuestionSummary>> findUserComments(
             @PathVariable long id,
             @RequestParam(value = "page", defaultValue = "0") int page
     ) {
@@ -1,5 +1,6 @@
 package com.qupp.user.repository;
 
+import com.qupp.config.id.EntityIdGenerator;
 import com.qupp.jwt.Util;
 import com.qupp.post.repository.Answer;
 import com.qupp.post.repository.Comment;
@@ -8,6 +9,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 import org.hibernate.annotations.Where;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -16,7 +19,6 @@ import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import java.util.ArrayList;
@@ -31,7 +33,8 @@ import java.util.Map;
 @Where(clause = "deleted = false")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "user_id")
+    @GenericGenerator(name = "user_id", strategy = EntityIdGenerator.STRATEGY)
     private long id;
 
     @Column(nullable = false, unique = true)
@@ -55,9 +58,17 @@ public class User {
     @Column
     private Boolean deleted = false;
 
+    // 운영자. 가입으로는 정해지지 않고 DB 에서 직접 지정한다. 전체 내보내기 같은 관리 API 에 ADMIN 권한으로 쓴다.
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean admin;
+
     public Collection<? extends GrantedAuthority> getAuthorities() {
         List<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("USER"));
+        if (admin) {
+            authorities.add(new SimpleGrantedAuthority("ADMIN"));
+        }
 
         return authorities;
     }
@@ -2,11 +2,9 @@ package com.qupp.user.service;
 
 
 import com.qupp.jwt.JwtProvider;
-import com.qupp.post.dto.response.ResponseQuestion;
-import com.qupp.post.repository.Answer;
-import com.qupp.post.repository.Comment;
-import com.qupp.post.repository.Question;
-import com.qupp.post.service.PostComponent;
+import com.qupp.jwt.UserStatusCache;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.QuestionRepository;
 import com.qupp.user.controller.dto.request.RequestCreateUser;
 import com.qupp.user.controller.dto.request.RequestEmailUpdate;
 import com.qupp.user.controller.dto.request.RequestLogin;
@@ -19,15 +17,12 @@ import com.qupp.user.repository.User;
 import com.qupp.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -37,7 +32,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
-    private final PostComponent postComponent;
+    private final UserStatusCache userStatusCache;
+    private final QuestionRepository questionRepository;
 
     @Transactional
     public ResponseRegister userRegister(RequestCreateUser requestCreateUser) {
@@ -61,21 +57,21 @@ public class UserService {
                 .build();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public boolean isDuplicateEmail(String email) {
 
         return userRepository.findByEmail(email)
                 .isPresent();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public boolean isDuplicateNickname(String nickname) {
 
         return userRepository.findByNickname(nickname)
                 .isPresent();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseLogin login(RequestLogin requestLogin) {
         User user = userRepository.findByEmail(requestLogin.getEmail())
                 .orElseThrow(() -> new NoSuchElementException("잘못된 아이디입니다."));
@@ -90,7 +86,7 @@ public class UserService {
         }
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ResponseUser findById(long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("회원정보가 없습니다."));
@@ -98,6 +94,7 @@ public class UserService {
         return ResponseUser.fromEntity(user);
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -109,6 +106,7 @@ public class UserService {
         String nickname = requestNicknameUpdate.getNickname();
         if (!isDuplicateNickname(nickname)) {
             user.setNickname(nickname);
+            userStatusCache.evict(id);
             return ResponseUserUpdate.builder()
                     .email(user.getEmail())
                     .nickname(nickname)
@@ -124,6 +122,7 @@ public class UserService {
         String email = requestEmailUpdate.getEmail();
         if (!isDuplicateEmail(email)) {
             user.setEmail(email);
+            userStatusCache.evict(id);
             return ResponseUserUpdate.builder()
                     .nickname(user.getNickname())
                     .email(email)
@@ -132,6 +131,7 @@ public class UserService {
         throw new IllegalArgumentException("수정하려는 이메일 중복입니다.");
     }
 
+    @Transactional(readOnly = true)
     public ResponseUser postsRegisterUser(String nickname) {
         User user = userRepository.findByNickname(nickname)
                 .orElseThrow(() -> new NoSuchElementException("잘못된 닉네임입니다."));
@@ -139,62 +139,32 @@ public class UserService {
         return ResponseUser.fromEntity(user);
     }
 
-    
-    @Transactional
-    public Page<ResponseQuestion> findUserQuestions(long id, Pageable pageable){
 
-        User user = userRepository.findById(id).orElseThrow(() -> new NoSuchElementException("회원정보가 없습니다."));
-        List<Question> questions = user.getQuestions();
-        List<ResponseQuestion> responseQuestions = new ArrayList<>();
+    @Transactional(readOnly = true)
+    public Page<ResponseQuestionSummary> findUserQuestions(long id, Pageable pageable) {
+        checkUserExists(id);
 
-        for (Question question : questions) {
-            ResponseQuestion responseQuestion = postComponent.getResponseQuestion(question);
-            responseQuestions.add(responseQuestion);
-        }
+        return questionRepository.findSummariesByAuthor(id, pageable);
+    }
 
-        final int start = (int)pageable.getOffset();
-        final int end = Math.min((start + pageable.getPageSize()), responseQuestions.size());
-        final Page<ResponseQuestion> page = new PageImpl<>(responseQuestions.subList(start, end), pageable, responseQuestions.size());
+    @Transactional(readOnly = true)
+    public Page<ResponseQuestionSummary> findUserAnswers(long id, Pageable pageable) {
+        checkUserExists(id);
 
-        return page;
+        return questionRepository.findSummariesAnsweredBy(id, pageable); // -> 해당 답변이 달린 부모 '질문글' 을 조회
     }
 
-    @Transactional
-    public Page<ResponseQuestion> findUserAnswers(long id, Pageable pageable) {
-        User user = userRepository.findById(id).orElseThrow(() -> new NoSuchElementException("회원정보가 없습니다."));
-        List<Answer> answers = user.getAnswers();
-        List<ResponseQuestion> responseQuestions = new ArrayList<>();
-
-        for (Answer answer : answers) {
-            ResponseQuestion responseQuestion = postComponent.getResponseQuestion(answer.getQuestion()); // -> 해당 답변이 달린 부모 '질문글' 을 조회
-            responseQuestions.add(responseQuestion);
-        }
-
-        final int start = (int)pageable.getOffset();
-        final int end = Math.min((start + pageable.getPageSize()), responseQuestions.size());
-        final Page<ResponseQuestion> page = new PageImpl<>(responseQuestions.subList(start, end), pageable, responseQuestions.size());
+    @Transactional(readOnly = true)
+    public Page<ResponseQuestionSummary> findUserComments(long id, Pageable pageable) {
+        checkUserExists(id);
 
-        return page;
+        return questionRepository.findSummariesCommentedBy(id, pageable); // 질문에 달린 댓글이면 질문, 답변에 달린 댓글이면 답변의 부모 질문
     }
 
-    @Transactional
-    public Page<ResponseQuestion> findUserComments(long id, Pageable pageable) {
-        User user = userRepository.findById(id).orElseThrow(() -> new NoSuchElementException("회원정보가 없습니다."));
-        List<Comment> comments = user.getComments();
-        List<ResponseQuestion> responseQuestions = new ArrayList<>();
-
-        for (Comment comment : comments) {
-            Question question = comment.getQuestion();
-            ResponseQuestion responseQuestion = postComponent.getResponseQuestion(
-                    question != null ? question : comment.getAnswer().getQuestion()); // 질문에 달린 댓글이면 질문 반환, 답변에 달린 댓글이면 답변의 부모 질문 반환
-            responseQuestions.add(responseQuestion);
+    private void checkUserExists(long id) {
+        if (!userRepository.existsById(id)) {
+            throw new NoSuchElementException("회원정보가 없습니다.");
         }
-
-        final int start = (int)pageable.getOffset();
-        final int end = Math.min((start + pageable.getPageSize()), responseQuestions.size());
-        final Page<ResponseQuestion> page = new PageImpl<>(responseQuestions.subList(start, end), pageable, responseQuestions.size());
-
-        return page;
     }
 
     @Transactional
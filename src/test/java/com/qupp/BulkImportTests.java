@@ -0,0 +1,205 @@
+package com.qupp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.post.importer.BulkImportService;
+import com.qupp.post.importer.BulkImportWriter;
+import com.qupp.post.importer.ImportCheckpointRepository;
+import com.qupp.post.importer.ImportReport;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.CategoryRegistry;
+import com.qupp.user.repository.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class BulkImportTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private BulkImportWriter bulkImportWriter;
+    @Autowired
+    private ImportCheckpointRepository importCheckpointRepository;
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path directory;
+
+    private BulkImportService bulkImportService;
+    private User kim;
+    private User lee;
+
+    @BeforeEach
+    void setUp() {
+        PostFixture fixture = new PostFixture(entityManager);
+        kim = fixture.user();
+        lee = fixture.user();
+        fixture.flushAndClear();
+
+        bulkImportService = new BulkImportService(bulkImportWriter, importCheckpointRepository, categoryRegistry, objectMapper, 2);
+    }
+
+    @Test
+    @DisplayName("NDJSON 을 가져오면 답변/댓글의 외래 키와 개수 컬럼이 채워지고, 작성자를 모르는 글은 건너뛴다.")
+    void t1() throws Exception {
+        Path file = directory.resolve("questions.ndjson");
+        Files.writeString(file, String.join("\n",
+                question("ndjson-1", kim, "Art", answer(lee, comment(kim), comment(lee)), answer(kim)),
+                question("ndjson-2", lee, "Business", answer("unknown")),
+                question("ndjson-3", "unknown", "Art")
+        ));
+
+        ImportReport report = bulkImportService.importFile(file);
+        entityManager.clear();
+
+        assertThat(report.getRecords()).isEqualTo(3);
+        assertThat(report.getQuestions()).isEqualTo(2);
+        assertThat(report.getAnswers()).isEqualTo(2);
+        assertThat(report.getComments()).isEqualTo(4);
+        assertThat(report.getSkipped()).isEqualTo(2);
+
+        Question first = findByTitle("ndjson-1").get(0);
+        assertThat(first.getUser().getId()).isEqualTo(kim.getId());
+        assertThat(first.getCategory().getCollege()).isEqualTo("Art");
+        assertThat(first.getAnswerCount()).isEqualTo(2);
+        assertThat(first.getCommentCount()).isEqualTo(1);
+        assertThat(first.getAnswers()).extracting(a -> a.getComments().size()).containsExactlyInAnyOrder(2, 0);
+        assertThat(first.getAnswers()).extracting(a -> a.getCommentCount()).containsExactlyInAnyOrder(2L, 0L);
+        assertThat(findByTitle("ndjson-2").get(0).getAnswerCount()).isZero();
+        assertThat(findByTitle("ndjson-3")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("중간에 실패하면 마지막으로 커밋된 위치 다음부터 이어서 가져온다.")
+    void t2() throws Exception {
+        Path file = directory.resolve("resume.ndjson");
+        Files.writeString(file, String.join("\n",
+                question("resume-1", kim, "Art"),
+                question("resume-2", kim, "Art"),
+                "{broken",
+                question("resume-4", kim, "Art")
+        ));
+
+        assertThatThrownBy(() -> bulkImportService.importFile(file))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(findByTitlePrefix("resume-")).hasSize(2);
+
+        Files.writeString(file, String.join("\n",
+                question("resume-1", kim, "Art"),
+                question("resume-2", kim, "Art"),
+                question("resume-3", kim, "Art"),
+                question("resume-4", kim, "Art")
+        ));
+
+        ImportReport report = bulkImportService.importFile(file);
+
+        assertThat(report.getRecords()).isEqualTo(2);
+        assertThat(findByTitlePrefix("resume-")).extracting(Question::getTitle)
+                .containsExactlyInAnyOrder("resume-1", "resume-2", "resume-3", "resume-4");
+    }
+
+    @Test
+    @DisplayName("CSV 는 질문 행 다음에 이어지는 답변/댓글 행을 그 질문에 묶어서 가져온다.")
+    void t3() throws Exception {
+        Path file = directory.resolve("questions.csv");
+        Files.writeString(file, String.join("\n",
+                "type,ref,parent_ref,author,category,sub_category,title,content,register_time,update_time",
+                "question,q1,,%s,Humanities,Humanities,csv-1,\"내용, 쉼표 포함\",2022-01-01T10:00,".formatted(kim.getNickname()),
+                "answer,a1,q1,%s,,,,답변,2022-01-01T11:00,2022-01-01T11:30".formatted(lee.getNickname()),
+                "question_comment,c1,q1,%s,,,,질문 댓글,2022-01-01T12:00,".formatted(lee.getNickname()),
+                "answer_comment,c2,a1,%s,,,,답변 댓글,2022-01-01T13:00,".formatted(kim.getNickname()),
+                "question,q2,,%s,,Engineering,csv-2,내용,2022-01-02T10:00,".formatted(lee.getNickname())
+        ));
+
+        ImportReport report = bulkImportService.importFile(file);
+        entityManager.clear();
+
+        assertThat(report.getQuestions()).isEqualTo(2);
+        assertThat(report.getAnswers()).isEqualTo(1);
+        assertThat(report.getComments()).isEqualTo(2);
+
+        Question first = findByTitle("csv-1").get(0);
+        assertThat(first.getContent()).isEqualTo("내용, 쉼표 포함");
+        assertThat(first.getUpdateTime()).isEqualTo(first.getRegisterTime());
+        assertThat(first.getComments()).extracting("comment").containsExactly("질문 댓글");
+        assertThat(first.getAnswers().get(0).getComments()).extracting("comment").containsExactly("답변 댓글");
+        assertThat(findByTitle("csv-2").get(0).getCategory().getCollege()).isEqualTo("Engineering");
+    }
+
+    @Test
+    @DisplayName("카테고리를 찾지 못한 질문은 카테고리 없이 넣지 않고 건너뛴다.")
+    void t4() throws Exception {
+        Path file = directory.resolve("categories.ndjson");
+        Files.writeString(file, String.join("\n",
+                question("category-1", kim, "Unknown"),
+                question("category-2", kim, "Art")
+        ));
+
+        ImportReport report = bulkImportService.importFile(file);
+        entityManager.clear();
+
+        assertThat(report.getQuestions()).isEqualTo(1);
+        assertThat(report.getSkipped()).isEqualTo(1);
+        assertThat(findByTitle("category-1")).isEmpty();
+        assertThat(findByTitle("category-2")).hasSize(1);
+    }
+
+    private List<Question> findByTitle(String title) {
+        return entityManager.createQuery("select q from Question q where q.title = :title", Question.class)
+                .setParameter("title", title)
+                .getResultList();
+    }
+
+    private List<Question> findByTitlePrefix(String prefix) {
+        return entityManager.createQuery("select q from Question q where q.title like :title", Question.class)
+                .setParameter("title", prefix + "%")
+                .getResultList();
+    }
+
+    private String question(String title, User author, String category, String... answers) {
+        return question(title, author.getNickname(), category, answers);
+    }
+
+    private String question(String title, String author, String category, String... answers) {
+        return """
+                {"title":"%s","content":"content","author":"%s","category":"%s","registerTime":"2022-01-01T10:00:00","comments":[%s],"answers":[%s]}"""
+                .formatted(title, author, category, comment(author), String.join(",", answers));
+    }
+
+    private String answer(User author, String... comments) {
+        return answer(author.getNickname(), comments);
+    }
+
+    private String answer(String author, String... comments) {
+        return """
+                {"content":"answer","author":"%s","registerTime":"2022-01-01T11:00:00","comments":[%s]}"""
+                .formatted(author, String.join(",", comments));
+    }
+
+    private String comment(User author) {
+        return comment(author.getNickname());
+    }
+
+    private String comment(String author) {
+        return """
+                {"comment":"comment","author":"%s","registerTime":"2022-01-01T12:00:00"}""".formatted(author);
+    }
+}
@@ -0,0 +1,112 @@
+package com.qupp;
+
+import com.qupp.post.dto.inner.ResponseCategory;
+import com.qupp.post.dto.request.RequestRegisterQuestion;
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.service.CategoryRegistry;
+import com.qupp.post.service.CategoryService;
+import com.qupp.post.service.QuestionService;
+import com.qupp.post.service.SubCategoryService;
+import com.qupp.user.repository.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class CategoryRegistryTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private SubCategoryService subCategoryService;
+    @Autowired
+    private QuestionService questionService;
+
+    @Autowired
+    private AtomicBoolean loadedBeforeRunners;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("대분류/소분류 조회는 쿼리를 실행하지 않는다.")
+    void t1() {
+        statistics.clear();
+
+        assertThat(categoryService.findByCollege("Business")).isEqualTo(3L);
+        assertThat(categoryService.findByCollege("0")).isNull();
+        assertThat(subCategoryService.getCategory("Art").getCategory().getCollege()).isEqualTo("Art");
+        assertThatThrownBy(() -> subCategoryService.getCategory("Unknown"))
+                .isInstanceOf(NoSuchElementException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("질문 등록은 카테고리를 조회하지 않고 insert 만 실행한다.")
+    void t2() {
+        User author = fixture.user();
+        fixture.flushAndClear();
+        author = entityManager.find(User.class, author.getId());
+
+        RequestRegisterQuestion request = new RequestRegisterQuestion("title", "content", author.getNickname(), "Engineering", "Engineering", author);
+        statistics.clear();
+
+        ResponseCategory responseCategory = subCategoryService.getCategory(request.getDept());
+        ResponsePost responsePost = questionService.register(request, responseCategory);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(responsePost.getQuestion().getCategory()).isEqualTo("Engineering");
+        assertThat(responsePost.getQuestion().getSubCategory()).isEqualTo("Engineering");
+    }
+
+    @Test
+    @DisplayName("ApplicationRunner 가 실행될 때 이미 카테고리가 로드되어 있다.")
+    void t3() {
+        assertThat(loadedBeforeRunners).isTrue();
+    }
+
+    @TestConfiguration
+    static class RunnerConfig {
+        private final AtomicBoolean loaded = new AtomicBoolean();
+
+        @Bean
+        AtomicBoolean loadedBeforeRunners() {
+            return loaded;
+        }
+
+        @Bean
+        ApplicationRunner categoryProbe(CategoryRegistry categoryRegistry) {
+            return args -> loaded.set(categoryRegistry.findByCollege("Engineering").isPresent());
+        }
+    }
+}
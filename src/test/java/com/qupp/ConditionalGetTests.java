@@ -0,0 +1,194 @@
+package com.qupp;
+
+import com.qupp.post.dto.request.RequestRegisterQuestion;
+import com.qupp.post.dto.request.RequestUpdateAnswer;
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.AnswerService;
+import com.qupp.post.service.QuestionService;
+import com.qupp.post.service.SubCategoryService;
+import com.qupp.post.service.ViewCounter;
+import com.qupp.user.repository.User;
+import com.qupp.user.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class ConditionalGetTests {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private AnswerService answerService;
+    @Autowired
+    private SubCategoryService subCategoryService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ViewCounter viewCounter;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+        token = userService.genAccessToken(fixture.user());
+    }
+
+    @Test
+    @DisplayName("ETag 가 같으면 상세 조회는 본문 없이 304 로 응답하고, 캐시된 응답이 있으면 쿼리도 실행하지 않는다.")
+    void t1() throws Exception {
+        long id = fixture.thread(1, 2, 1, 1).getId();
+        fixture.flushAndClear();
+
+        MvcResult first = mvc.perform(read("/question/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+
+        statistics.clear();
+        mvc.perform(read("/question/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("답변이 수정되면 이전 ETag 로는 304 가 아니라 새 본문을 받는다.")
+    void t2() throws Exception {
+        Question question = fixture.thread(1, 1, 0, 0);
+        fixture.flushAndClear();
+        long answerId = entityManager.createQuery("select a.id from Answer a where a.question.id = :id", Long.class)
+                .setParameter("id", question.getId())
+                .getSingleResult();
+
+        String eTag = mvc.perform(read("/question/{id}", question.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        RequestUpdateAnswer request = new RequestUpdateAnswer();
+        request.setContent("updated");
+        answerService.update(answerId, request);
+        fixture.flushAndClear();
+
+        MvcResult result = mvc.perform(read("/question/{id}", question.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(result.getResponse().getContentAsString()).contains("updated");
+    }
+
+    @Test
+    @DisplayName("목록은 질문이 등록/삭제되기 전까지 같은 ETag 로 쿼리 없이 304 를 응답한다.")
+    void t3() throws Exception {
+        fixture.thread(5, 1, 0, 0);
+        fixture.flushAndClear();
+
+        String eTag = mvc.perform(read("/questions").param("category", "Art"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mvc.perform(read("/questions").param("category", "Art").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        long id = register("Art").getQuestion().getId();
+        fixture.flushAndClear();
+
+        mvc.perform(read("/questions").param("category", "Art").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        String next = mvc.perform(read("/questions").param("category", "Art"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        questionService.delete(id);
+        fixture.flushAndClear();
+
+        mvc.perform(read("/questions").param("category", "Art").header(HttpHeaders.IF_NONE_MATCH, next))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("다른 카테고리의 변경은 목록 ETag 를 바꾸지 않고, 페이지마다 ETag 가 다르다.")
+    void t4() throws Exception {
+        String art = mvc.perform(read("/questions").param("category", "Art"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String all = mvc.perform(read("/questions"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String secondPage = mvc.perform(read("/questions").param("category", "Art").param("page", "1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(secondPage).isNotEqualTo(art);
+
+        register("Engineering");
+        fixture.flushAndClear();
+
+        mvc.perform(read("/questions").param("category", "Art").header(HttpHeaders.IF_NONE_MATCH, art))
+                .andExpect(status().isNotModified());
+        mvc.perform(read("/questions").header(HttpHeaders.IF_NONE_MATCH, all))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("304 로 응답한 상세 조회도 조회 수에 들어간다.")
+    void t5() throws Exception {
+        long id = fixture.thread(1, 0, 0, 0).getId();
+        fixture.flushAndClear();
+
+        String eTag = mvc.perform(read("/question/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(read("/question/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified());
+        }
+        viewCounter.flush();
+        entityManager.clear();
+
+        assertThat(entityManager.find(Question.class, id).getViewCount()).isEqualTo(3);
+    }
+
+    private ResponsePost register(String college) {
+        User author = fixture.user();
+        RequestRegisterQuestion request = new RequestRegisterQuestion("title", "content", author.getNickname(), college, college, author);
+        return questionService.register(request, subCategoryService.getCategory(college));
+    }
+
+    private MockHttpServletRequestBuilder read(String url, Object... variables) {
+        return get(url, variables).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
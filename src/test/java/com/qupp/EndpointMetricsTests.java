@@ -0,0 +1,92 @@
+package com.qupp;
+
+import com.qupp.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@Transactional
+@ActiveProfiles("test")
+class EndpointMetricsTests {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserService userService;
+
+    @Value("${qupp.management.username}:${qupp.management.password}")
+    private String scrapeAccount;
+
+    private PostFixture fixture;
+    private String token;
+    private String scrapeCredentials;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PostFixture(entityManager);
+        token = userService.genAccessToken(fixture.user());
+        scrapeCredentials = Base64.getEncoder().encodeToString(scrapeAccount.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("컨트롤러 메서드별 응답 시간과 요청당 Hibernate 통계를 Prometheus 형식으로 내보내고, 스크레이프 계정으로만 읽을 수 있다.")
+    void t1() throws Exception {
+        long id = fixture.thread(1, 5, 2, 2).getId();
+        fixture.flushAndClear();
+
+        mvc.perform(read("/question/{id}", id)).andExpect(status().isOk());
+        mvc.perform(read("/questions")).andExpect(status().isOk());
+
+        mvc.perform(read("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/health")).andExpect(status().isOk());
+
+        String body = mvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, "Basic " + scrapeCredentials))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).contains(
+                "qupp_endpoint_seconds_count{handler=\"QuestionController.findOne\",} 1.0",
+                "qupp_endpoint_seconds{handler=\"QuestionController.findAll\",quantile=\"0.99\",}",
+                "qupp_endpoint_seconds_bucket{handler=\"QuestionController.findOne\",le=",
+                "qupp_endpoint_collection_fetches_max{handler=\"QuestionController.findOne\",}");
+
+        // 상세 조회는 답변/댓글 수와 상관없이 검증자 1번 + 상세 3번의 SELECT 로 끝나고 지연 로딩이 없다.
+        assertThat(value(body, "qupp_endpoint_statements_sum{handler=\"QuestionController.findOne\",}")).isEqualTo(4.0);
+        assertThat(value(body, "qupp_endpoint_collection_fetches_sum{handler=\"QuestionController.findOne\",}")).isZero();
+        assertThat(value(body, "qupp_endpoint_entity_loads_sum{handler=\"QuestionController.findOne\",}")).isGreaterThan(10);
+    }
+
+    private double value(String body, String series) {
+        return body.lines()
+                .filter(line -> line.startsWith(series))
+                .map(line -> Double.parseDouble(line.substring(series.length()).trim()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private MockHttpServletRequestBuilder read(String url, Object... vars) {
+        return get(url, vars).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
@@ -0,0 +1,155 @@
+package com.qupp;
+
+import com.qupp.config.id.IdGenerator;
+import com.qupp.config.id.PooledIdGenerator;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Question;
+import com.qupp.user.repository.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class IdGeneratorTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Test
+    @DisplayName("여러 노드가 같은 id_block 을 나눠 써도 id 가 겹치지 않고, 기존 최대 id 다음부터 발급한다.")
+    void t1() throws Exception {
+        // 테스트 트랜잭션 밖에서 커밋해야 id 구간을 할당하는 트랜잭션에서 보인다.
+        requiresNew().executeWithoutResult(status -> {
+            jdbcTemplate.update("create table if not exists id_test (id bigint primary key)");
+            jdbcTemplate.update("merge into id_test key (id) values (41)");
+        });
+
+        List<IdGenerator> nodes = List.of(pooled(7), pooled(7), pooled(3));
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            IdGenerator node = nodes.get(i % nodes.size());
+            futures.add(executor.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int n = 0; n < 200; n++) {
+                    ids.add(node.nextId("id_test"));
+                }
+                return ids;
+            }));
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(1200);
+        assertThat(ids.stream().mapToLong(Long::longValue).min().getAsLong()).isGreaterThan(41);
+    }
+
+    @Test
+    @DisplayName("엔티티 INSERT 가 JDBC batch 로 묶인다.")
+    void t2() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        PostFixture fixture = new PostFixture(entityManager);
+        User user = fixture.user();
+        Question question = fixture.question(user, 1, LocalDateTime.now());
+        entityManager.flush();
+
+        statistics.clear();
+        List<Answer> answers = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Answer answer = Answer.builder()
+                    .content("answer")
+                    .user(user)
+                    .question(question)
+                    .registerTime(LocalDateTime.now())
+                    .updateTime(LocalDateTime.now())
+                    .build();
+            entityManager.persist(answer);
+            answers.add(answer);
+        }
+        entityManager.flush();
+
+        assertThat(answers).extracting(Answer::getId).doesNotHaveDuplicates().allMatch(id -> id > 0);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("요청용 커넥션 풀이 모두 사용 중이어도 새 id 구간을 할당한다.")
+    void t3() throws Exception {
+        HikariDataSource pool = (HikariDataSource) dataSource;
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                held.add(pool.getConnection());
+            }
+
+            // pool-size(100) 보다 많이 받아서 적어도 한 번은 구간을 새로 할당하게 한다.
+            Set<Long> ids = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                Set<Long> issued = new HashSet<>();
+                for (int i = 0; i < 150; i++) {
+                    issued.add(idGenerator.nextId("answer"));
+                }
+                return issued;
+            });
+            assertThat(ids).hasSize(150);
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    private IdGenerator pooled(int poolSize) {
+        return new PooledIdGenerator(jdbcTemplate, requiresNew(), poolSize);
+    }
+
+    private TransactionTemplate requiresNew() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return requiresNew;
+    }
+}
@@ -0,0 +1,211 @@
+package com.qupp;
+
+import com.qupp.config.storage.ImageStorage;
+import com.qupp.config.storage.LocalImageStorage;
+import com.qupp.post.dto.request.RequestUpdateQuestion;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.ImageDigestRepository;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.ImageService;
+import com.qupp.post.service.QuestionService;
+import com.qupp.user.repository.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장소의 파일은 커밋된 뒤에 지우므로 테스트 트랜잭션 없이 실행한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageReleaseTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private ImageStorage imageStorage;
+    @Autowired
+    private ImageDigestRepository imageDigestRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("참조가 모두 풀리면 원본과 변형, 색인을 지운다.")
+    void t1() {
+        byte[] bytes = {9, 8, 7, 6};
+        String url = upload(bytes);
+        upload(bytes);
+        String digest = digestId(url).substring("question/".length());
+
+        imageService.release("question", digest);
+        assertThat(stored(url)).exists();
+        assertThat(imageDigestRepository.findById(digestId(url)).orElseThrow().getRefCount()).isEqualTo(1);
+
+        imageService.release("question", digest);
+        assertThat(stored(url)).doesNotExist();
+        assertThat(imageDigestRepository.findById(digestId(url))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("질문을 지우면 본문의 이미지 참조를 풀고, 롤백되면 색인과 파일이 그대로 남는다.")
+    void t2() {
+        String url = upload(new byte[]{5, 4, 3, 2, 1});
+        String thumbnailUrl = url.replace(".png", "_thumbnail.jpg");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Question question = transactionTemplate.execute(status -> {
+            PostFixture fixture = new PostFixture(entityManager);
+            Question q = fixture.question(fixture.user("image-release"), 1, LocalDateTime.now());
+            q.setContent("<a href=\"" + url + "\"><img src=\"" + thumbnailUrl + "\"></a>");
+            return q;
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                questionService.delete(question.getId());
+                status.setRollbackOnly();
+            });
+            assertThat(stored(url)).exists();
+            assertThat(imageDigestRepository.findById(digestId(url)).orElseThrow().getRefCount()).isEqualTo(1);
+
+            questionService.delete(question.getId());
+            assertThat(stored(url)).doesNotExist();
+            assertThat(imageDigestRepository.findById(digestId(url))).isEmpty();
+        } finally {
+            // 같은 컨텍스트를 쓰는 다른 테스트에 보이지 않도록 커밋한 행을 지운다.
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.createQuery("delete from Question q where q.id = :id").setParameter("id", question.getId()).executeUpdate();
+                entityManager.createQuery("delete from User u where u.id = :id").setParameter("id", question.getUser().getId()).executeUpdate();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 참조를 푸는 중에 같은 내용을 다시 올리면 새 key 로 저장하고, 커밋 뒤에 지우는 사본과 겹치지 않는다.")
+    void t3() throws Exception {
+        byte[] bytes = {7, 7, 1, 7};
+        String url = upload(bytes);
+        String digest = digestId(url).substring("question/".length());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // 행을 잠근 채로 다시 올리게 해서, 업로드가 잠금을 기다렸다가 커밋 직후 저장하게 한다.
+            Future<String> reupload = new TransactionTemplate(transactionManager).execute(status -> {
+                imageService.release("question", digest);
+                Future<String> future = executor.submit(() -> upload(bytes));
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return future;
+            });
+            String again = reupload.get(10, TimeUnit.SECONDS);
+
+            assertThat(again).isNotEqualTo(url);
+            assertThat(stored(url)).doesNotExist();
+            assertThat(stored(again)).exists();
+            assertThat(imageDigestRepository.findById(digestId(url)).orElseThrow().getStorageKey())
+                    .isEqualTo(again.substring("/images/".length()));
+        } finally {
+            executor.shutdown();
+        }
+
+        imageService.release("question", digest);
+    }
+
+    @Test
+    @DisplayName("질문을 지우면 답변도 지우고 답변 본문의 이미지 참조를 푼다.")
+    void t4() {
+        String url = upload(new byte[]{4, 4, 4, 1});
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Answer answer = transactionTemplate.execute(status -> {
+            PostFixture fixture = new PostFixture(entityManager);
+            User author = fixture.user("image-release-answer");
+            Answer a = fixture.answer(fixture.question(author, 1, LocalDateTime.now()), author);
+            a.setContent("<img src=\"" + url + "\">");
+            return a;
+        });
+
+        try {
+            questionService.delete(answer.getQuestion().getId());
+
+            assertThat(stored(url)).doesNotExist();
+            assertThat(imageDigestRepository.findById(digestId(url))).isEmpty();
+            Object deleted = transactionTemplate.execute(status -> entityManager
+                    .createNativeQuery("select deleted from answer where id = :id")
+                    .setParameter("id", answer.getId())
+                    .getSingleResult());
+            assertThat(deleted).isEqualTo(true);
+        } finally {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.createQuery("delete from Answer a where a.id = :id").setParameter("id", answer.getId()).executeUpdate();
+                entityManager.createQuery("delete from Question q where q.id = :id").setParameter("id", answer.getQuestion().getId()).executeUpdate();
+                entityManager.createQuery("delete from User u where u.id = :id").setParameter("id", answer.getUser().getId()).executeUpdate();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("질문을 수정하면 수정한 본문에서 빠진 이미지의 참조만 푼다.")
+    void t5() {
+        String removed = upload(new byte[]{5, 5, 1});
+        String kept = upload(new byte[]{5, 5, 2});
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Question question = transactionTemplate.execute(status -> {
+            PostFixture fixture = new PostFixture(entityManager);
+            Question q = fixture.question(fixture.user("image-release-update"), 1, LocalDateTime.now());
+            q.setContent("<img src=\"" + removed + "\"><img src=\"" + kept + "\">");
+            return q;
+        });
+
+        try {
+            RequestUpdateQuestion updateQuestion = new RequestUpdateQuestion();
+            updateQuestion.setTitle("title");
+            updateQuestion.setContent("<img src=\"" + kept.replace(".png", "_display.jpg") + "\">");
+            questionService.update(question.getId(), updateQuestion);
+
+            assertThat(stored(removed)).doesNotExist();
+            assertThat(imageDigestRepository.findById(digestId(removed))).isEmpty();
+            assertThat(stored(kept)).exists();
+            assertThat(imageDigestRepository.findById(digestId(kept)).orElseThrow().getRefCount()).isEqualTo(1);
+        } finally {
+            imageService.releaseAll(kept);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.createQuery("delete from Question q where q.id = :id").setParameter("id", question.getId()).executeUpdate();
+                entityManager.createQuery("delete from User u where u.id = :id").setParameter("id", question.getUser().getId()).executeUpdate();
+            });
+        }
+    }
+
+    private String upload(byte[] bytes) {
+        return imageService.upload(new MockMultipartFile("image", "slide.png", "image/png", bytes), "question").getUrl();
+    }
+
+    // /images/question/<digest>-<copy>.png -> question/<digest>
+    private String digestId(String url) {
+        String key = url.substring("/images/".length());
+        return key.substring(0, key.indexOf('/') + 1 + 64);
+    }
+
+    private Path stored(String url) {
+        return ((LocalImageStorage) imageStorage).resolve(url.substring("/images/".length()));
+    }
+}
@@ -0,0 +1,265 @@
+package com.qupp;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.config.storage.ImageStorage;
+import com.qupp.config.storage.LocalImageStorage;
+import com.qupp.post.dto.response.ResponseImage;
+import com.qupp.post.repository.ImageDigestRepository;
+import com.qupp.post.service.ImageService;
+import com.qupp.post.service.ImageVariantProcessor;
+import com.qupp.user.service.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.persistence.EntityManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class ImageUploadTests {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ImageService imageService;
+    @Autowired
+    private ImageStorage imageStorage;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ImageDigestRepository imageDigestRepository;
+
+    @Autowired
+    private ImageVariantProcessor imageVariantProcessor;
+
+    private String token;
+
+    @Test
+    @DisplayName("POST /image 는 내용의 SHA-256 으로 key 를 정한다. 같은 내용은 다시 저장하지 않고 같은 URL 을, 다른 내용은 이름이 같아도 다른 URL 을 돌려준다.")
+    void t1() throws Exception {
+        byte[] bytes = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+
+        String first = upload(new MockMultipartFile("image", "photo.png", "image/png", bytes));
+        long modified = Files.getLastModifiedTime(stored(first)).toMillis();
+        Thread.sleep(20);
+        String again = upload(new MockMultipartFile("image", "renamed.PNG", "image/png", bytes));
+        String other = upload(new MockMultipartFile("image", "photo.png", "image/png", new byte[]{1, 2, 3}));
+
+        assertThat(first).matches("/images/question/" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)) + "-[0-9a-f]{32}\\.png");
+        assertThat(again).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(Files.readAllBytes(stored(first))).isEqualTo(bytes);
+        assertThat(Files.getLastModifiedTime(stored(first)).toMillis()).isEqualTo(modified);
+        assertThat(imageDigestRepository.findById(digestId(first)).orElseThrow().getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("원본 파일 이름의 경로는 무시하고 저장소 디렉터리 안에만 저장한다.")
+    void t2() throws Exception {
+        String url = upload(new MockMultipartFile("image", "../../evil.png", "image/png", new byte[]{1}));
+
+        assertThat(url).startsWith("/images/question/").endsWith(".png").doesNotContain("evil", "..");
+        assertThat(stored(url)).exists();
+    }
+
+    @Test
+    @DisplayName("업로드는 파일 전체를 byte[] 로 읽지 않고 스트림으로 저장한다.")
+    void t3() throws Exception {
+        long size = 64L * 1024 * 1024;
+        MultipartFile file = new MockMultipartFile("image", "large.jpg", "image/jpeg", new byte[0]) {
+            @Override
+            public long getSize() {
+                return size;
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return false;
+            }
+
+            @Override
+            public byte[] getBytes() {
+                throw new AssertionError("getBytes 는 호출하면 안 된다.");
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    private long remaining = size;
+
+                    @Override
+                    public int read() {
+                        return remaining-- > 0 ? 7 : -1;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) {
+                        if (remaining <= 0) {
+                            return -1;
+                        }
+                        int n = (int) Math.min(len, remaining);
+                        Arrays.fill(b, off, off + n, (byte) 7);
+                        remaining -= n;
+                        return n;
+                    }
+                };
+            }
+        };
+
+        String url = imageService.upload(file, "answer").getUrl();
+
+        assertThat(Files.size(stored(url))).isEqualTo(size);
+        Files.delete(stored(url));
+    }
+
+    @Test
+    @DisplayName("POST /images 는 여러 장을 동시에 올리고 입력 순서대로 파일별 URL 또는 실패 사유를 돌려준다.")
+    void t4() throws Exception {
+        String body = mvc.perform(multipart("/images")
+                        .file(new MockMultipartFile("images", "first.png", "image/png", new byte[]{1}))
+                        .file(new MockMultipartFile("images", "empty.png", "image/png", new byte[0]))
+                        .file(new MockMultipartFile("images", "third.png", "image/png", new byte[]{3, 3, 3}))
+                        .param("directory", "answer")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Map<String, String>> results = objectMapper.readValue(body, new TypeReference<>() {});
+
+        assertThat(results).extracting(r -> r.get("fileName")).containsExactly("first.png", "empty.png", "third.png");
+        assertThat(results.get(0).get("url")).startsWith("/images/answer/").endsWith(".png");
+        assertThat(results.get(1)).doesNotContainKey("url").containsEntry("error", "이미지 파일이 없습니다.");
+        assertThat(Files.readAllBytes(stored(results.get(2).get("url")))).isEqualTo(new byte[]{3, 3, 3});
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("업로드한 이미지의 썸네일/표시용 JPEG 변형을 원본 옆에 비동기로 만들고 메타데이터는 남기지 않는다. 변형 URL 은 변형을 저장한 뒤에만 준다.")
+    void t5() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("image", "phone.jpg", "image/jpeg", jpegWithExif(3000, 2000));
+        ResponseImage first = imageService.upload(file, "question");
+        String url = first.getUrl();
+        String id = digestId(url);
+
+        try {
+            assertThat(first.getThumbnailUrl()).isEqualTo(url);
+            assertThat(first.getDisplayUrl()).isEqualTo(url);
+            for (int i = 0; i < 100 && !imageDigestRepository.findById(id).orElseThrow().isVariants(); i++) {
+                Thread.sleep(100);
+            }
+
+            ResponseImage again = imageService.upload(file, "question");
+            String base = url.substring(0, url.length() - ".jpg".length());
+            assertThat(again.getThumbnailUrl()).isEqualTo(base + "_thumbnail.jpg");
+            assertThat(again.getDisplayUrl()).isEqualTo(base + "_display.jpg");
+
+            Path thumbnail = stored(again.getThumbnailUrl());
+            Path display = stored(again.getDisplayUrl());
+            BufferedImage thumbnailImage = ImageIO.read(thumbnail.toFile());
+            BufferedImage displayImage = ImageIO.read(display.toFile());
+            assertThat(thumbnailImage.getWidth()).isEqualTo(320);
+            assertThat(thumbnailImage.getHeight()).isEqualTo(213);
+            assertThat(displayImage.getWidth()).isEqualTo(1280);
+            assertThat(displayImage.getHeight()).isEqualTo(853);
+            assertThat(Files.size(display)).isLessThan(Files.size(stored(url)));
+            assertThat(new String(Files.readAllBytes(display), StandardCharsets.ISO_8859_1)).doesNotContain("Exif", "secret-location");
+        } finally {
+            imageDigestRepository.deleteById(id);
+        }
+    }
+
+    @Test
+    @DisplayName("변형을 만들지 못한 이미지는 다시 올려도 변형 URL 대신 원본 URL 을 준다.")
+    void t6() throws Exception {
+        // Content-Type 은 PNG 지만 읽을 수 없는 내용
+        MockMultipartFile file = new MockMultipartFile("image", "broken.png", "image/png", new byte[]{4, 4, 4, 4});
+        String url = imageService.upload(file, "question").getUrl();
+        imageVariantProcessor.process(digestId(url), url.substring("/images/".length()));
+
+        ResponseImage again = imageService.upload(file, "question");
+
+        assertThat(again.getUrl()).isEqualTo(url);
+        assertThat(again.getThumbnailUrl()).isEqualTo(url);
+        assertThat(again.getDisplayUrl()).isEqualTo(url);
+    }
+
+    // SOI 바로 뒤에 위치 정보가 담긴 것처럼 APP1(Exif) 세그먼트를 끼워 넣은 JPEG
+    private byte[] jpegWithExif(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | ((x ^ y) & 0xff));
+            }
+        }
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        byte[] bytes = jpeg.toByteArray();
+
+        byte[] exif = "Exif\0\0secret-location".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        result.write(bytes, 0, 2);
+        result.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) ((exif.length + 2) >> 8), (byte) (exif.length + 2)});
+        result.write(exif);
+        result.write(bytes, 2, bytes.length - 2);
+        return result.toByteArray();
+    }
+
+    private String upload(MockMultipartFile file) throws Exception {
+        String body = mvc.perform(multipart("/image").file(file)
+                        .param("directory", "question")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        return (String) objectMapper.readValue(body, Map.class).get("url");
+    }
+
+    // /images/question/<digest>-<copy>.png -> question/<digest>
+    private String digestId(String url) {
+        String key = url.substring("/images/".length());
+        return key.substring(0, key.indexOf('/') + 1 + 64);
+    }
+
+    // 트랜잭션 없이 도는 테스트도 있으므로 MockMvc 로 요청하는 테스트에서만 회원을 만든다.
+    private String token() {
+        if (token == null) {
+            token = userService.genAccessToken(new PostFixture(entityManager).user());
+        }
+        return token;
+    }
+
+    private Path stored(String url) {
+        return ((LocalImageStorage) imageStorage).resolve(url.substring("/images/".length()));
+    }
+}
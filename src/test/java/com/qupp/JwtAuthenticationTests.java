@@ -0,0 +1,117 @@
+package com.qupp;
+
+import com.qupp.jwt.AccessTokenClaims;
+import com.qupp.jwt.JwtProvider;
+import com.qupp.user.controller.dto.request.RequestEmailUpdate;
+import com.qupp.user.repository.User;
+import com.qupp.user.repository.UserRepository;
+import com.qupp.user.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JwtAuthenticationTests {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("캐시된 회원 상태가 있으면 토큰 인증 시 회원을 조회하지 않는다.")
+    void t1() throws Exception {
+        User user = saveUser("stateless1");
+        String token = userService.genAccessToken(user);
+
+        request(user, token);
+        statistics.clear();
+        request(user, token);
+
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("이메일을 수정하면 캐시가 무효화되어 이전 토큰은 더 이상 인증되지 않는다.")
+    void t2() throws Exception {
+        User user = saveUser("stateless2");
+        String token = userService.genAccessToken(user);
+        request(user, token);
+
+        userService.updateEmail(user.getId(), RequestEmailUpdate.builder()
+                .email("changed-stateless2@qupp.com")
+                .build());
+
+        assertThatThrownBy(() -> request(user, token))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    @DisplayName("검증 결과가 캐싱된 토큰도 만료 시각이 지나면 거부한다.")
+    void t3() throws Exception {
+        User user = saveUser("stateless3");
+        String token = jwtProvider.generateAccessToken(user.getAccessTokenClaims(), 1);
+
+        assertThat(jwtProvider.verifyAndGetClaims(token)).get()
+                .extracting(AccessTokenClaims::getEmail).isEqualTo("stateless3@qupp.com");
+
+        Thread.sleep(1100);
+
+        assertThat(jwtProvider.verifyAndGetClaims(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("서명이 맞지 않는 토큰은 거부한다.")
+    void t4() {
+        User user = saveUser("stateless4");
+        String token = userService.genAccessToken(user);
+        jwtProvider.verifyAndGetClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtProvider.verifyAndGetClaims(tampered)).isEmpty();
+    }
+
+    private void request(User user, String token) throws Exception {
+        mvc.perform(get("/user/%d/questions".formatted(user.getId()))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private User saveUser(String nickname) {
+        return userRepository.save(User.builder()
+                .email(nickname + "@qupp.com")
+                .nickname(nickname)
+                .password("password")
+                .build());
+    }
+}
@@ -0,0 +1,119 @@
+package com.qupp;
+
+import com.qupp.post.dto.request.RequestRegisterAnswer;
+import com.qupp.post.dto.request.RequestRegisterComment;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.AnswerService;
+import com.qupp.post.service.CommentService;
+import com.qupp.post.service.PostCountReconciler;
+import com.qupp.post.service.QuestionService;
+import com.qupp.user.repository.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class PostCountTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private AnswerService answerService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private PostCountReconciler postCountReconciler;
+
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("답변/댓글을 등록하고 삭제하면 질문과 답변의 개수 컬럼이 함께 바뀐다.")
+    void t1() {
+        User user = fixture.user();
+        long questionId = fixture.question(user, 1, LocalDateTime.now()).getId();
+        fixture.flushAndClear();
+
+        RequestRegisterAnswer registerAnswer = new RequestRegisterAnswer();
+        registerAnswer.setContent("answer");
+        registerAnswer.setUser(user);
+        answerService.register(registerAnswer, questionService.findOne(questionId));
+        answerService.register(registerAnswer, questionService.findOne(questionId));
+        long answerId = entityManager.createQuery("select max(a.id) from Answer a where a.question.id = :id", Long.class)
+                .setParameter("id", questionId)
+                .getSingleResult();
+
+        commentService.postRegister(comment(user), questionService.findOne(questionId), null);
+        commentService.postRegister(comment(user), null, answerService.findOne(answerId));
+        long answerCommentId = entityManager.createQuery("select max(c.id) from Comment c where c.answer.id = :id", Long.class)
+                .setParameter("id", answerId)
+                .getSingleResult();
+        fixture.flushAndClear();
+
+        assertCounts(questionId, 2, 1);
+        assertThat(entityManager.find(Answer.class, answerId).getCommentCount()).isEqualTo(1);
+
+        commentService.delete(answerCommentId);
+        answerService.delete(answerId);
+        fixture.flushAndClear();
+
+        assertCounts(questionId, 1, 1);
+        entityManager.clear();
+        assertThat(entityManager.createQuery("select a.commentCount from Answer a where a.id = :id", Long.class)
+                .setParameter("id", answerId)
+                .getResultList()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("어긋난 개수는 정합성 작업이 실제 개수로 다시 맞춘다.")
+    void t2() {
+        Question question = fixture.thread(1, 3, 2, 4);
+        fixture.flushAndClear();
+
+        entityManager.createQuery("update Question q set q.answerCount = 99, q.commentCount = 0 where q.id = :id")
+                .setParameter("id", question.getId())
+                .executeUpdate();
+        entityManager.createQuery("update Answer a set a.commentCount = 7 where a.question.id = :id")
+                .setParameter("id", question.getId())
+                .executeUpdate();
+
+        postCountReconciler.reconcile();
+        fixture.flushAndClear();
+
+        assertCounts(question.getId(), 3, 4);
+        assertThat(entityManager.createQuery("select a.commentCount from Answer a where a.question.id = :id", Long.class)
+                .setParameter("id", question.getId())
+                .getResultList()).containsOnly(2L);
+    }
+
+    private RequestRegisterComment comment(User user) {
+        RequestRegisterComment request = new RequestRegisterComment();
+        request.setComment("comment");
+        request.setUser(user);
+        return request;
+    }
+
+    private void assertCounts(long questionId, long answerCount, long commentCount) {
+        Question question = entityManager.find(Question.class, questionId);
+
+        assertThat(question.getAnswerCount()).isEqualTo(answerCount);
+        assertThat(question.getCommentCount()).isEqualTo(commentCount);
+    }
+}
@@ -0,0 +1,116 @@
+package com.qupp;
+
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Category;
+import com.qupp.post.repository.Comment;
+import com.qupp.post.repository.Question;
+import com.qupp.user.repository.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+/**
+ * 테스트용 질문/답변/댓글 스레드를 생성한다.
+ */
+public class PostFixture {
+    private final EntityManager entityManager;
+    private int userSeq;
+
+    public PostFixture(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public User user() {
+        return user("user%d".formatted(++userSeq));
+    }
+
+    // 커밋하는 테스트는 다른 테스트의 user1, user2 ... 와 겹치지 않는 이름을 쓴다.
+    public User user(String nickname) {
+        User user = User.builder()
+                .email(nickname + "@qupp.com")
+                .nickname(nickname)
+                .password("password")
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    public Question question(User author, long categoryId, LocalDateTime registerTime) {
+        Question question = Question.builder()
+                .title("title")
+                .content("content")
+                .user(author)
+                .registerTime(registerTime)
+                .updateTime(registerTime)
+                .build();
+        question.addCategory(entityManager.find(Category.class, categoryId));
+        entityManager.persist(question);
+        return question;
+    }
+
+    public Answer answer(Question question, User author) {
+        LocalDateTime now = LocalDateTime.now();
+        Answer answer = Answer.builder()
+                .content("answer")
+                .user(author)
+                .question(question)
+                .registerTime(now)
+                .updateTime(now)
+                .build();
+        entityManager.persist(answer);
+        increase("Question", "answerCount", question.getId());
+        return answer;
+    }
+
+    // Comment.id는 Long 이라 빌더가 0을 채우면 detached 로 취급되므로 merge 로 저장한다.
+    public Comment comment(Question question, Answer answer, User author) {
+        LocalDateTime now = LocalDateTime.now();
+        if (question != null) {
+            increase("Question", "commentCount", question.getId());
+        } else {
+            increase("Answer", "commentCount", answer.getId());
+        }
+        return entityManager.merge(Comment.builder()
+                .comment("comment")
+                .user(author)
+                .question(question)
+                .answer(answer)
+                .registerTime(now)
+                .updateTime(now)
+                .build());
+    }
+
+    /**
+     * 답변 answerCount 개, 답변마다 댓글 commentsPerAnswer 개, 질문 댓글 questionComments 개를 가진 스레드를 만든다.
+     * 모든 글은 서로 다른 작성자를 가진다.
+     */
+    public Question thread(long categoryId, int answerCount, int commentsPerAnswer, int questionComments) {
+        Question question = question(user(), categoryId, LocalDateTime.now());
+
+        for (int i = 0; i < questionComments; i++) {
+            comment(question, null, user());
+        }
+
+        for (int i = 0; i < answerCount; i++) {
+            Answer answer = answer(question, user());
+
+            for (int j = 0; j < commentsPerAnswer; j++) {
+                comment(null, answer, user());
+            }
+        }
+
+        return question;
+    }
+
+    // 서비스와 같이 비정규화된 개수를 UPDATE 로 올린다.
+    private void increase(String entity, String counter, long id) {
+        entityManager.createQuery("update %s e set e.%s = e.%s + 1 where e.id = :id".formatted(entity, counter, counter))
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package com.qupp;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.function.Executable;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔드포인트 하나가 실행한 SQL 문 수를 세어 예산을 넘으면 테스트를 실패시킨다.
+ */
+public class QueryBudget {
+    private final Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(Executable action) throws Throwable {
+        statistics.clear();
+        action.execute();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * 작은 데이터와 큰 데이터에 같은 요청을 보내 두 경우 모두 예산 안이고, 데이터 양에 따라 늘어나지 않는지 확인한다.
+     */
+    public void assertWithin(String name, long budget, Executable small, Executable large) throws Throwable {
+        assertWithin(name, budget, count(small), count(large));
+    }
+
+    public void assertWithin(String name, long budget, long smallCount, long largeCount) {
+        assertThat(smallCount).as("%s: SQL 문 수 예산 %d 초과", name, budget).isLessThanOrEqualTo(budget);
+        assertThat(largeCount).as("%s: 데이터 양에 따라 SQL 문 수가 늘어남 (N+1)", name).isLessThanOrEqualTo(smallCount);
+    }
+}
@@ -0,0 +1,175 @@
+package com.qupp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.post.dto.request.RequestRegisterComment;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Question;
+import com.qupp.user.repository.User;
+import com.qupp.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 엔드포인트별 SQL 문 수 예산. 예산을 넘기거나 답변/댓글 수에 따라 쿼리가 늘어나면 빌드가 실패한다.
+ * 예산을 올려야 한다면 늘어난 쿼리가 데이터 양과 무관한지 먼저 확인한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class QueryBudgetTests {
+    private static final long DETAIL = 4;
+    private static final long LIST = 2;
+    private static final long CURSOR = 1;
+    private static final long USER_ACTIVITY = 3;
+    private static final long COMMENT_REGISTER = 9;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private PostFixture fixture;
+    private QueryBudget budget;
+    private User viewer;
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fixture = new PostFixture(entityManager);
+        budget = new QueryBudget(entityManagerFactory);
+        viewer = fixture.user();
+        token = userService.genAccessToken(viewer);
+        fixture.flushAndClear();
+
+        // 토큰 사용자 상태 캐시를 채워 두어 측정에서 인증 조회를 뺀다.
+        mvc.perform(read("/user/{id}/questions", viewer.getId())).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /question/{id} 는 답변/댓글 수와 상관없이 예산 안에서 끝난다.")
+    void t1() throws Throwable {
+        long small = fixture.thread(1, 1, 1, 1).getId();
+        long large = fixture.thread(1, 40, 8, 20).getId();
+        fixture.flushAndClear();
+
+        budget.assertWithin("GET /question/{id}", DETAIL,
+                () -> mvc.perform(read("/question/{id}", small)).andExpect(status().isOk()),
+                () -> mvc.perform(read("/question/{id}", large)).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("GET /questions 와 카테고리 목록은 페이지의 질문 수와 상관없이 예산 안에서 끝난다.")
+    void t2() throws Throwable {
+        // 페이지가 가득 차야 count 쿼리까지 실행되므로 작은 쪽도 한 페이지 이상 채운다.
+        for (int i = 0; i < 10; i++) {
+            fixture.thread(3, 0, 0, 0);
+        }
+        fixture.flushAndClear();
+        long smallAll = budget.count(() -> mvc.perform(read("/questions")).andExpect(status().isOk()));
+        long smallCategory = budget.count(() -> mvc.perform(read("/questions?category=Business")).andExpect(status().isOk()));
+        long smallCursor = budget.count(() -> mvc.perform(read("/questions/cursor?category=Business")).andExpect(status().isOk()));
+
+        for (int i = 0; i < 15; i++) {
+            fixture.thread(3, 5, 3, 3);
+        }
+        fixture.flushAndClear();
+        long largeAll = budget.count(() -> mvc.perform(read("/questions")).andExpect(status().isOk()));
+        long largeCategory = budget.count(() -> mvc.perform(read("/questions?category=Business")).andExpect(status().isOk()));
+        long largeCursor = budget.count(() -> mvc.perform(read("/questions/cursor?category=Business")).andExpect(status().isOk()));
+
+        budget.assertWithin("GET /questions", LIST, smallAll, largeAll);
+        budget.assertWithin("GET /questions?category", LIST, smallCategory, largeCategory);
+        budget.assertWithin("GET /questions/cursor", CURSOR, smallCursor, largeCursor);
+    }
+
+    @Test
+    @DisplayName("GET /user/{id}/questions, answers, comments 는 활동량과 상관없이 예산 안에서 끝난다.")
+    void t3() throws Throwable {
+        User small = activeUser(10, 0);
+        User large = activeUser(25, 3);
+        fixture.flushAndClear();
+
+        for (String activity : new String[]{"questions", "answers", "comments"}) {
+            String url = "/user/{id}/" + activity;
+            budget.assertWithin("GET " + url, USER_ACTIVITY,
+                    () -> mvc.perform(read(url, small.getId())).andExpect(status().isOk()),
+                    () -> mvc.perform(read(url, large.getId())).andExpect(status().isOk()));
+        }
+    }
+
+    @Test
+    @DisplayName("질문/답변 댓글 등록은 스레드 크기와 상관없이 예산 안에서 끝난다.")
+    void t4() throws Throwable {
+        Question small = fixture.thread(1, 1, 1, 1);
+        Question large = fixture.thread(1, 40, 8, 20);
+        long smallAnswer = fixture.answer(small, fixture.user()).getId();
+        long largeAnswer = fixture.answer(large, fixture.user()).getId();
+        fixture.flushAndClear();
+
+        budget.assertWithin("POST /question/{id}/comment", COMMENT_REGISTER,
+                () -> mvc.perform(write("/question/{id}/comment", small.getId())).andExpect(status().isOk()),
+                () -> mvc.perform(write("/question/{id}/comment", large.getId())).andExpect(status().isOk()));
+        budget.assertWithin("POST /question/{questionId}/answer/{answerId}/comment", COMMENT_REGISTER,
+                () -> mvc.perform(write("/question/{questionId}/answer/{answerId}/comment", small.getId(), smallAnswer)).andExpect(status().isOk()),
+                () -> mvc.perform(write("/question/{questionId}/answer/{answerId}/comment", large.getId(), largeAnswer)).andExpect(status().isOk()));
+    }
+
+    // 질문, 답변, 댓글을 각각 count 개씩 쓰고, 글마다 다른 사용자들의 답변/댓글이 fanOut 개씩 달린 사용자를 만든다.
+    private User activeUser(int count, int fanOut) {
+        User user = fixture.user();
+        LocalDateTime base = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Question question = fixture.question(user, 1, base.plusSeconds(i));
+            Question other = fixture.thread(1, fanOut, fanOut, fanOut);
+            Answer answer = fixture.answer(other, user);
+            fixture.comment(other, null, user);
+
+            for (int j = 0; j < fanOut; j++) {
+                fixture.comment(question, null, fixture.user());
+                fixture.answer(question, fixture.user());
+                fixture.comment(null, answer, fixture.user());
+            }
+        }
+        return user;
+    }
+
+    private MockHttpServletRequestBuilder read(String url, Object... vars) {
+        return get(url, vars).header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private MockHttpServletRequestBuilder write(String url, Object... vars) throws Exception {
+        RequestRegisterComment request = new RequestRegisterComment();
+        request.setComment("comment");
+        request.setAuthor(viewer.getNickname());
+
+        return post(url, vars)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request));
+    }
+}
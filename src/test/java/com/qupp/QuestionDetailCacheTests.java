@@ -0,0 +1,121 @@
+package com.qupp;
+
+import com.qupp.post.dto.request.RequestRegisterComment;
+import com.qupp.post.dto.request.RequestUpdateAnswer;
+import com.qupp.post.dto.response.ResponseAnswer;
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.AnswerService;
+import com.qupp.post.service.CommentService;
+import com.qupp.post.service.QuestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class QuestionDetailCacheTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private AnswerService answerService;
+    @Autowired
+    private CommentService commentService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("두 번째 상세 조회는 캐시에서 응답하고 쿼리를 실행하지 않는다.")
+    void t1() {
+        long id = fixture.thread(1, 3, 2, 2).getId();
+        fixture.flushAndClear();
+        double hits = cacheGets("hit");
+
+        ResponsePost first = questionService.getResponsePost(id);
+        statistics.clear();
+        ResponsePost second = questionService.getResponsePost(id);
+
+        assertThat(second).isSameAs(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("답변을 수정하면 해당 질문의 캐시가 무효화된다.")
+    void t2() {
+        Question question = fixture.thread(1, 1, 0, 0);
+        long answerId = answerIdOf(question);
+        fixture.flushAndClear();
+        questionService.getResponsePost(question.getId());
+
+        RequestUpdateAnswer request = new RequestUpdateAnswer();
+        request.setContent("updated");
+        long questionId = answerService.update(answerId, request);
+        fixture.flushAndClear();
+
+        assertThat(questionId).isEqualTo(question.getId());
+        assertThat(questionService.getResponsePost(questionId).getAnswers().get(0).getContent()).isEqualTo("updated");
+    }
+
+    @Test
+    @DisplayName("답변에 댓글을 등록하면 질문 번호를 반환하고 해당 질문의 캐시가 무효화된다.")
+    void t3() {
+        Question question = fixture.thread(1, 1, 0, 0);
+        long answerId = answerIdOf(question);
+        fixture.flushAndClear();
+        assertThat(questionService.getResponsePost(question.getId()).getAnswers().get(0).getComments()).isEmpty();
+
+        ResponseAnswer responseAnswer = answerService.findOne(answerId);
+        RequestRegisterComment request = new RequestRegisterComment();
+        request.setComment("new comment");
+        request.setUser(entityManager.find(Answer.class, answerId).getUser());
+        long questionId = commentService.postRegister(request, null, responseAnswer);
+        fixture.flushAndClear();
+
+        assertThat(questionId).isEqualTo(question.getId());
+        assertThat(questionService.getResponsePost(questionId).getAnswers().get(0).getComments())
+                .extracting("comment")
+                .containsExactly("new comment");
+    }
+
+    private long answerIdOf(Question question) {
+        return entityManager.createQuery("select a.id from Answer a where a.question.id = :id", Long.class)
+                .setParameter("id", question.getId())
+                .getSingleResult();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "question.detail")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
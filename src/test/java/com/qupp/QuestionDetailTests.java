@@ -0,0 +1,85 @@
+package com.qupp;
+
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.QuestionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class QuestionDetailTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private QuestionService questionService;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("GET /question/{id} 상세 조회는 답변/댓글 수와 상관없이 고정된 수의 쿼리만 실행한다.")
+    void t1() {
+        long small = fixture.thread(1, 2, 1, 1).getId();
+        long large = fixture.thread(1, 40, 8, 20).getId();
+        fixture.flushAndClear();
+
+        long smallCount = countStatements(small, 2, 3);
+        long largeCount = countStatements(large, 40, 340);
+
+        assertThat(smallCount).isLessThanOrEqualTo(3);
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    @Test
+    @DisplayName("삭제된 답변과 댓글은 상세 조회에 포함되지 않는다.")
+    void t2() {
+        long id = fixture.thread(1, 3, 2, 2).getId();
+        fixture.flushAndClear();
+
+        Question question = entityManager.find(Question.class, id);
+        question.getAnswers().get(0).delete();
+        question.getComments().get(0).delete();
+        fixture.flushAndClear();
+
+        ResponsePost responsePost = questionService.getResponsePost(id);
+
+        assertThat(responsePost.getAnswers()).hasSize(2);
+        assertThat(responsePost.getQuestion().getComments()).hasSize(1);
+    }
+
+    private long countStatements(long id, int answers, int comments) {
+        statistics.clear();
+
+        ResponsePost responsePost = questionService.getResponsePost(id);
+
+        assertThat(responsePost.getAnswers()).hasSize(answers);
+        assertThat(responsePost.getAnswers().stream().mapToInt(a -> a.getComments().size()).sum()
+                + responsePost.getQuestion().getComments().size()).isEqualTo(comments);
+        assertThat(responsePost.getQuestion().getUser()).isNotNull();
+        assertThat(responsePost.getQuestion().getCategory()).isEqualTo("Humanities");
+
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,117 @@
+package com.qupp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.QuestionExportService;
+import com.qupp.user.repository.User;
+import com.qupp.user.service.UserService;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class QuestionExportTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private QuestionExportService questionExportService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("삭제되지 않은 질문을 번호 순으로 한 줄에 하나씩 답변/댓글과 함께 내보내고, 청크마다 영속성 컨텍스트를 비운다.")
+    void t1() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(fixture.thread(1, 2, 1, 1).getId());
+        }
+        fixture.flushAndClear();
+
+        Question deleted = entityManager.find(Question.class, ids.get(1));
+        deleted.delete();
+        Question withDeletedAnswer = entityManager.find(Question.class, ids.get(2));
+        withDeletedAnswer.getAnswers().get(0).delete();
+        fixture.flushAndClear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        questionExportService.export(out, 2);
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        Set<Long> expected = Set.of(ids.get(0), ids.get(2), ids.get(3), ids.get(4));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            assertThat(line).startsWith("{");
+            JsonNode node = objectMapper.readTree(line);
+            if (ids.contains(node.get("id").asLong())) {
+                lines.add(node);
+            }
+        }
+
+        assertThat(lines).extracting(node -> node.get("id").asLong())
+                .containsExactlyElementsOf(expected.stream().sorted().collect(Collectors.toList()));
+        assertThat(lines).allSatisfy(node -> {
+            assertThat(node.get("category").asText()).isEqualTo("Humanities");
+            assertThat(node.get("comments")).hasSize(1);
+            assertThat(node.get("answers")).allSatisfy(answer -> assertThat(answer.get("comments")).hasSize(1));
+        });
+        assertThat(lines.get(1).get("answers")).hasSize(1);
+        assertThat(lines.get(0).get("answers")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("GET /questions/export 는 ADMIN 권한이 있는 사용자만 받을 수 있다.")
+    void t2() throws Exception {
+        fixture.thread(1, 1, 0, 0);
+        fixture.thread(1, 1, 0, 0);
+        User user = fixture.user();
+        User admin = fixture.user();
+        admin.setAdmin(true);
+        fixture.flushAndClear();
+
+        mvc.perform(get("/questions/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userService.genAccessToken(user)))
+                .andExpect(status().isForbidden());
+
+        String body = mvc.perform(get("/questions/export")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + userService.genAccessToken(admin)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body.split("\n")).isNotEmpty().allSatisfy(line -> assertThat(line).startsWith("{"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.qupp;
+
+import com.qupp.post.dto.response.ResponseCursorPage;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.QuestionService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class QuestionListTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private QuestionService questionService;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("GET /questions 목록은 답변/댓글을 로딩하지 않고 개수만 프로젝션으로 조회한다.")
+    void t1() {
+        Question question = fixture.thread(2, 30, 5, 7);
+        question.setContent("x".repeat(500));
+        for (int i = 0; i < 11; i++) {
+            fixture.thread(1, 1, 1, 1);
+        }
+        fixture.flushAndClear();
+        statistics.clear();
+
+        Page<ResponseQuestionSummary> page = questionService.pagingByCategory(2L, PageRequest.of(0, 10, Sort.by("registerTime").descending()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(page.getTotalElements()).isEqualTo(1);
+
+        ResponseQuestionSummary summary = page.getContent().get(0);
+        assertThat(summary.getId()).isEqualTo(question.getId());
+        assertThat(summary.getExcerpt()).hasSize(ResponseQuestionSummary.EXCERPT_LENGTH);
+        assertThat(summary.getAuthor()).isEqualTo(question.getUser().getNickname());
+        assertThat(summary.getCategory()).isEqualTo("SocialScience");
+        assertThat(summary.getAnswerCount()).isEqualTo(30);
+        assertThat(summary.getCommentCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("전체 목록은 페이지 크기만큼 조회하고 전체 개수는 별도 count 쿼리로 구한다.")
+    void t2() {
+        for (int i = 0; i < 12; i++) {
+            fixture.thread(1, 2, 0, 0);
+        }
+        fixture.flushAndClear();
+        statistics.clear();
+
+        Page<ResponseQuestionSummary> page = questionService.findAll(PageRequest.of(0, 10, Sort.by("registerTime").descending()));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(12);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getContent()).allMatch(q -> q.getAnswerCount() == 2);
+    }
+
+    @Test
+    @DisplayName("커서 페이징은 등록시각이 같은 질문도 누락/중복 없이 최신순으로 순회하고 count 쿼리를 실행하지 않는다.")
+    void t3() {
+        LocalDateTime base = LocalDateTime.of(2022, 9, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // 3개씩 같은 등록시각을 가지도록 만든다.
+            Question question = fixture.question(fixture.user(), 5, base.plusMinutes(i / 3));
+            expected.add(0, question.getId());
+        }
+        fixture.thread(1, 0, 0, 0);
+        fixture.flushAndClear();
+
+        List<Long> actual = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            ResponseCursorPage<ResponseQuestionSummary> page = questionService.findAllByCursor(5L, cursor, 10);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            page.getContent().forEach(q -> actual.add(q.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException 으로 거부한다.")
+    void t4() {
+        assertThatThrownBy(() -> questionService.findAllByCursor(null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.qupp;
+
+import com.qupp.config.datasource.ReadYourWrites;
+import com.qupp.config.datasource.ReplicationRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationRoutingTests {
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primary, List.of(replica)));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션은 primary 에서 실행된다.")
+    void t1() {
+        assertThat(readOnlyLookup()).isEqualTo("replica");
+        ReadYourWrites.clear();
+        assertThat(readWriteLookup()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("요청 중에 쓰기를 한 스레드의 이후 읽기는 read-your-writes 를 위해 primary 에서 실행된다.")
+    void t2() {
+        ReadYourWrites.begin();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("insert into marker values ('written')"));
+
+        assertThat(readOnlyLookup()).isEqualTo("primary");
+        Integer count = readOnly.execute(status -> jdbcTemplate.queryForObject("select count(*) from marker", Integer.class));
+        assertThat(count).isEqualTo(2);
+
+        ReadYourWrites.clear();
+
+        assertThat(readOnlyLookup()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("요청 밖의 스레드는 쓰기 트랜잭션이 끝나면 다시 replica 에서 읽는다.")
+    void t3() {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into marker values ('written')");
+            assertThat(ReadYourWrites.isPinned()).isTrue();
+        });
+
+        assertThat(ReadYourWrites.isPinned()).isFalse();
+        assertThat(readOnlyLookup()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("onPrimary 안의 읽기 전용 트랜잭션은 primary 에서 실행되고, 끝나면 다시 replica 에서 읽는다.")
+    void t4() {
+        assertThat(ReadYourWrites.onPrimary(this::readOnlyLookup)).isEqualTo("primary");
+        assertThat(readOnlyLookup()).isEqualTo("replica");
+    }
+
+    private String readOnlyLookup() {
+        return readOnly.execute(status -> whereAmI());
+    }
+
+    private String readWriteLookup() {
+        return readWrite.execute(status -> whereAmI());
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject("select name from marker limit 1", String.class);
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table marker (name varchar(20))");
+        template.update("insert into marker values (?)", name);
+        return dataSource;
+    }
+}
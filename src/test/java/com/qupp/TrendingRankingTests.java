@@ -0,0 +1,146 @@
+package com.qupp;
+
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.College;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.QuestionService;
+import com.qupp.post.service.TrendingRanking;
+import com.qupp.user.repository.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class TrendingRankingTests {
+    private static final long BUSINESS = 3;
+    private static final long ART = 6;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TrendingRanking trendingRanking;
+    @Autowired
+    private QuestionService questionService;
+
+    @Test
+    @DisplayName("시작 시 최근 활동으로 점수를 다시 만들고, 오래된 활동일수록 낮은 점수를 받는다.")
+    void t1() {
+        PostFixture fixture = new PostFixture(entityManager);
+        User user = fixture.user();
+        LocalDateTime now = LocalDateTime.now();
+
+        Question fresh = fixture.question(user, ART, now);
+        Question old = fixture.question(user, ART, now.minusDays(2));
+        for (int i = 0; i < 5; i++) {
+            answer(old, user, now.minusDays(2));
+        }
+        Question answered = fixture.question(user, ART, now.minusHours(1));
+        answer(answered, user, now);
+        Question business = fixture.question(user, BUSINESS, now);
+        Question deleted = fixture.question(user, ART, now);
+        deleted.delete();
+        fixture.flushAndClear();
+
+        trendingRanking.rebuild();
+
+        Set<Long> ours = Set.of(fresh.getId(), old.getId(), answered.getId(), business.getId(), deleted.getId());
+        assertThat(top(College.Art, ours)).containsExactly(answered.getId(), fresh.getId(), old.getId());
+        assertThat(top(College.Business, ours)).containsExactly(business.getId());
+        assertThat(top(null, ours)).containsExactlyInAnyOrder(answered.getId(), fresh.getId(), old.getId(), business.getId());
+        assertThat(trendingRanking.score(old.getId())).isLessThan(trendingRanking.score(fresh.getId()));
+
+        List<ResponseQuestionSummary> trending = questionService.findTrending(College.Art, trendingRanking.getCapacity());
+        assertThat(trending).extracting(ResponseQuestionSummary::getId).filteredOn(ours::contains)
+                .containsExactly(answered.getId(), fresh.getId(), old.getId());
+        assertThat(trending).filteredOn(q -> q.getId() == old.getId()).first()
+                .extracting(ResponseQuestionSummary::getAnswerCount).isEqualTo(0L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("답변/댓글/조회마다 가중치만큼 점수가 오르고, 삭제된 질문은 순위에서 빠진다.")
+    void t2() {
+        long viewed = 9_000_001L;
+        long answered = 9_000_002L;
+        long commented = 9_000_003L;
+        Set<Long> ours = Set.of(viewed, answered, commented);
+
+        for (int i = 0; i < 10; i++) {
+            trendingRanking.viewed(viewed, "Engineering");
+        }
+        trendingRanking.answered(answered, "Engineering");
+        trendingRanking.commented(commented, "Engineering");
+        // 이미 순위에 있는 질문은 대분류를 몰라도 그 대분류로 더한다.
+        trendingRanking.commented(commented, null);
+        trendingRanking.refresh();
+
+        assertThat(top(College.Engineering, ours)).containsExactly(commented, answered, viewed);
+
+        trendingRanking.removed(commented);
+        trendingRanking.refresh();
+
+        assertThat(top(College.Engineering, ours)).containsExactly(answered, viewed);
+        assertThat(top(College.Art, ours)).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("조회는 refresh 때 점수에 더해지고, 그 전에 삭제된 질문의 조회는 버린다.")
+    void t3() {
+        long viewed = 9_000_011L;
+        long removed = 9_000_012L;
+        long known = 9_000_013L;
+        Set<Long> ours = Set.of(viewed, removed, known);
+
+        trendingRanking.answered(known, "Art");
+        trendingRanking.refresh();
+        trendingRanking.viewed(viewed, "Art");
+        trendingRanking.viewed(removed, "Art");
+        trendingRanking.viewed(known, null);
+
+        assertThat(trendingRanking.score(viewed)).isZero();
+        double answeredScore = trendingRanking.score(known);
+
+        trendingRanking.removed(removed);
+        trendingRanking.refresh();
+
+        assertThat(top(College.Art, ours)).containsExactly(known, viewed);
+        assertThat(trendingRanking.score(known)).isGreaterThan(answeredScore);
+
+        trendingRanking.removed(viewed);
+        trendingRanking.removed(known);
+        trendingRanking.refresh();
+    }
+
+    private List<Long> top(College college, Set<Long> ours) {
+        return Arrays.stream(trendingRanking.top(college, trendingRanking.getCapacity()))
+                .boxed()
+                .filter(ours::contains)
+                .toList();
+    }
+
+    private void answer(Question question, User user, LocalDateTime registerTime) {
+        entityManager.persist(Answer.builder()
+                .content("answer")
+                .user(user)
+                .question(question)
+                .registerTime(registerTime)
+                .updateTime(registerTime)
+                .build());
+    }
+}
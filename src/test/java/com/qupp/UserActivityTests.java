@@ -0,0 +1,121 @@
+package com.qupp;
+
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Question;
+import com.qupp.user.repository.User;
+import com.qupp.user.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class UserActivityTests {
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, Sort.by("registerTime").descending());
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserService userService;
+
+    private Statistics statistics;
+    private PostFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        fixture = new PostFixture(entityManager);
+    }
+
+    @Test
+    @DisplayName("GET /user/{id}/questions 는 요청한 페이지의 질문만 DB에서 잘라서 가져온다.")
+    void t1() {
+        User user = fixture.user();
+        LocalDateTime base = LocalDateTime.now();
+        for (int i = 0; i < 25; i++) {
+            Question question = fixture.question(user, 1, base.plusSeconds(i));
+            for (int j = 0; j < 5; j++) {
+                fixture.comment(question, null, fixture.user());
+            }
+        }
+        fixture.thread(1, 1, 1, 1);
+        fixture.flushAndClear();
+        statistics.clear();
+
+        Page<ResponseQuestionSummary> page = userService.findUserQuestions(user.getId(), PageRequest.of(2, 10, Sort.by("registerTime").descending()));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getContent().get(0).getCommentCount()).isEqualTo(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("GET /user/{id}/answers 는 답변을 단 질문을 한 번씩만 반환한다.")
+    void t2() {
+        User user = fixture.user();
+        Question first = fixture.thread(1, 0, 0, 0);
+        Question second = fixture.thread(1, 0, 0, 0);
+        fixture.thread(1, 3, 0, 0);
+        fixture.answer(first, user);
+        fixture.answer(first, user);
+        fixture.answer(second, user);
+        fixture.flushAndClear();
+
+        Page<ResponseQuestionSummary> page = userService.findUserAnswers(user.getId(), FIRST_PAGE);
+
+        assertThat(page.getContent()).extracting(ResponseQuestionSummary::getId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /user/{id}/comments 는 답변에 단 댓글을 답변의 부모 질문으로 반환한다.")
+    void t3() {
+        User user = fixture.user();
+        Question commentedQuestion = fixture.thread(1, 0, 0, 0);
+        Question parentQuestion = fixture.thread(1, 0, 0, 0);
+        Answer answer = fixture.answer(parentQuestion, fixture.user());
+        fixture.thread(1, 2, 2, 2);
+        fixture.comment(commentedQuestion, null, user);
+        fixture.comment(null, answer, user);
+        fixture.comment(null, answer, user);
+        fixture.flushAndClear();
+        statistics.clear();
+
+        Page<ResponseQuestionSummary> page = userService.findUserComments(user.getId(), FIRST_PAGE);
+
+        assertThat(page.getContent()).extracting(ResponseQuestionSummary::getId)
+                .containsExactlyInAnyOrder(commentedQuestion.getId(), parentQuestion.getId());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 유저의 활동 조회는 NoSuchElementException 을 던진다.")
+    void t4() {
+        assertThatThrownBy(() -> userService.findUserQuestions(-1, FIRST_PAGE))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+}
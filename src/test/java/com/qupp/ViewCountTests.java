@@ -0,0 +1,179 @@
+package com.qupp;
+
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.QuestionService;
+import com.qupp.post.service.ViewCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ViewCountTests {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private QuestionService questionService;
+    @Autowired
+    private ViewCounter viewCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long id;
+
+    @Test
+    @DisplayName("조회 수와 고유 조회자 수가 flush 때 반영되고, 고유 조회자는 이전에 저장된 값과 합쳐진다.")
+    void t1() {
+        id = question();
+        for (int round = 0; round < 3; round++) {
+            for (int viewer = 0; viewer < 1000; viewer++) {
+                questionService.view(id, "user:" + viewer);
+            }
+        }
+        viewCounter.flush();
+
+        Question question = find();
+        assertThat(question.getViewCount()).isEqualTo(3000);
+        assertThat(question.getViewerCount()).isCloseTo(1000, within(100L));
+
+        for (int viewer = 500; viewer < 1500; viewer++) {
+            questionService.view(id, "user:" + viewer);
+        }
+        viewCounter.flush();
+
+        question = find();
+        assertThat(question.getViewCount()).isEqualTo(4000);
+        assertThat(question.getViewerCount()).isCloseTo(1500, within(150L));
+
+        ResponseQuestionSummary summary = questionService.findAll(PageRequest.of(0, 10, Sort.by("registerTime").descending()))
+                .getContent().stream()
+                .filter(q -> q.getId() == id)
+                .findFirst()
+                .orElseThrow();
+        assertThat(summary.getViewCount()).isEqualTo(4000);
+        assertThat(summary.getViewerCount()).isEqualTo(question.getViewerCount());
+    }
+
+    @Test
+    @DisplayName("조회를 기록하는 중에 flush 해도 조회가 빠지지 않는다.")
+    void t2() throws Exception {
+        id = question();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    viewCounter.record(id, "ip:" + (i % 50));
+                }
+            }));
+        }
+
+        while (futures.stream().anyMatch(f -> !f.isDone())) {
+            viewCounter.flush();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        viewCounter.flush();
+
+        Question question = find();
+        assertThat(question.getViewCount()).isEqualTo(80000);
+        assertThat(question.getViewerCount()).isEqualTo(50);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("저장에 실패한 조회는 다음 flush 때 다시 저장하고, flush-max-attempts 번 실패하면 버린다.")
+    void t3() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Question committed = transactionTemplate.execute(status -> {
+            PostFixture fixture = new PostFixture(entityManager);
+            return fixture.question(fixture.user("view-retry"), 1, LocalDateTime.now());
+        });
+        id = committed.getId();
+
+        try {
+            breakViewTable();
+            try {
+                for (int viewer = 0; viewer < 5; viewer++) {
+                    viewCounter.record(id, "user:" + viewer);
+                }
+                viewCounter.flush();
+                viewCounter.record(id, "user:5");
+                viewCounter.flush();
+            } finally {
+                restoreViewTable();
+            }
+            viewCounter.flush();
+
+            Question question = find();
+            assertThat(question.getViewCount()).isEqualTo(6);
+            assertThat(question.getViewerCount()).isEqualTo(6);
+
+            breakViewTable();
+            try {
+                viewCounter.record(id, "user:6");
+                for (int attempt = 0; attempt < 3; attempt++) {
+                    viewCounter.flush();
+                }
+            } finally {
+                restoreViewTable();
+            }
+            viewCounter.flush();
+
+            assertThat(find().getViewCount()).isEqualTo(6);
+        } finally {
+            // 같은 컨텍스트를 쓰는 다른 테스트에 보이지 않도록 커밋한 행을 지운다.
+            jdbcTemplate.update("delete from question_view where question_id = ?", id);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.createQuery("delete from Question q where q.id = :id").setParameter("id", id).executeUpdate();
+                entityManager.createQuery("delete from User u where u.id = :id").setParameter("id", committed.getUser().getId()).executeUpdate();
+            });
+        }
+    }
+
+    private void breakViewTable() {
+        jdbcTemplate.execute("alter table question_view rename to question_view_broken");
+    }
+
+    private void restoreViewTable() {
+        jdbcTemplate.execute("alter table question_view_broken rename to question_view");
+    }
+
+    private long question() {
+        PostFixture fixture = new PostFixture(entityManager);
+        long questionId = fixture.question(fixture.user(), 1, LocalDateTime.now()).getId();
+        fixture.flushAndClear();
+        return questionId;
+    }
+
+    private Question find() {
+        entityManager.clear();
+        return entityManager.find(Question.class, id);
+    }
+}
@@ -0,0 +1,89 @@
+package com.qupp.benchmark;
+
+import com.qupp.config.AppConfig;
+import com.qupp.jwt.AccessTokenClaims;
+import com.qupp.jwt.JwtProvider;
+import com.qupp.jwt.UserContext;
+import com.qupp.jwt.Util;
+import com.qupp.user.repository.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 인증 필터가 거치는 토큰 검증, 클레임 파싱, UserContext 생성 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private AnnotationConfigApplicationContext context;
+    private JwtProvider jwtProvider;
+    private User user;
+    private String token;
+    private String body;
+    private AccessTokenClaims claims;
+
+    @Setup
+    public void setUp() {
+        // Util.json 은 AppConfig 의 컨텍스트에서 ObjectMapper 를 찾는다.
+        context = new AnnotationConfigApplicationContext(AppConfig.class);
+
+        jwtProvider = new JwtProvider(Keys.secretKeyFor(SignatureAlgorithm.HS256), 10000, 600);
+        user = new SyntheticPosts().user();
+        token = jwtProvider.generateAccessToken(user.getAccessTokenClaims(), 3600);
+        body = (String) Util.json.toStr(user.getAccessTokenClaims());
+        claims = new AccessTokenClaims(Util.json.toMap(body), null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyThenGetClaims() {
+        if (!jwtProvider.verify(token)) {
+            throw new IllegalStateException();
+        }
+        return jwtProvider.getClaims(token);
+    }
+
+    @Benchmark
+    public Optional<AccessTokenClaims> verifyAndGetClaims() {
+        return jwtProvider.verifyAndGetClaims(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> toMap() {
+        return Util.json.toMap(body);
+    }
+
+    @Benchmark
+    public UserContext userContextFromClaims() {
+        return new UserContext(claims.getId(), claims.getEmail(), claims.getNickname(), claims.getAuthorities());
+    }
+
+    @Benchmark
+    public UserContext userContextFromEntity() {
+        return new UserContext(user);
+    }
+}
@@ -0,0 +1,48 @@
+package com.qupp.benchmark;
+
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.repository.Question;
+import com.qupp.post.service.PostComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 질문 상세 조회에서 엔티티 그래프를 ResponsePost 로 조립하는 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostComponentBenchmark {
+    @Param({"0", "10", "100"})
+    private int answers;
+
+    @Param({"5"})
+    private int commentsPerAnswer;
+
+    private final PostComponent postComponent = new PostComponent();
+    private Question question;
+
+    @Setup
+    public void setUp() {
+        question = new SyntheticPosts().thread(answers, commentsPerAnswer);
+    }
+
+    @Benchmark
+    public ResponsePost getResponsePost() {
+        return postComponent.getResponsePost(question);
+    }
+}
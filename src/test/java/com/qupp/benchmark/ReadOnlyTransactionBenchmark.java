@@ -0,0 +1,120 @@
+package com.qupp.benchmark;
+
+import com.qupp.PostFixture;
+import com.qupp.QuppApplication;
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.dto.response.ResponseQuestionSummary;
+import com.qupp.post.repository.Question;
+import com.qupp.post.repository.QuestionRepository;
+import com.qupp.post.service.PostComponent;
+import com.qupp.post.service.QuestionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 조회를 읽기 전용 트랜잭션과 읽기/쓰기 트랜잭션에서 실행한 비용.
+ * 서비스의 @Transactional(readOnly = true) 는 바깥 트랜잭션에 참여하므로 바깥 TransactionTemplate 의 readOnly 가 적용된다.
+ * 읽기/쓰기 쪽은 로딩한 엔티티의 스냅샷을 들고 있다가 커밋할 때 dirty checking 을 하므로 -prof gc 의 할당량도 함께 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+    @Param({"10", "100"})
+    private int answers;
+
+    @Param({"5"})
+    private int commentsPerAnswer;
+
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+    private QuestionRepository questionRepository;
+    private PostComponent postComponent;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private final Pageable page = PageRequest.of(0, 10);
+    private long questionId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuppApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "logging.level.root=warn")
+                .run();
+
+        questionService = context.getBean(QuestionService.class);
+        questionRepository = context.getBean(QuestionRepository.class);
+        postComponent = context.getBean(PostComponent.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        questionId = readWrite.execute(status -> {
+            PostFixture fixture = new PostFixture(entityManager);
+            for (int i = 0; i < 20; i++) {
+                fixture.question(fixture.user(), 1L, LocalDateTime.now().minusMinutes(i));
+            }
+            return fixture.thread(1L, answers, commentsPerAnswer, commentsPerAnswer).getId();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ResponseQuestionSummary> findAllReadOnly() {
+        return readOnly.execute(status -> questionService.findAll(page));
+    }
+
+    @Benchmark
+    public Page<ResponseQuestionSummary> findAllReadWrite() {
+        return readWrite.execute(status -> questionService.findAll(page));
+    }
+
+    // 상세 캐시를 거치지 않고 QuestionService 가 캐시를 채울 때와 같은 조회와 조립을 한다.
+    @Benchmark
+    public ResponsePost getResponsePostReadOnly() {
+        return readOnly.execute(status -> responsePost());
+    }
+
+    @Benchmark
+    public ResponsePost getResponsePostReadWrite() {
+        return readWrite.execute(status -> responsePost());
+    }
+
+    private ResponsePost responsePost() {
+        Question question = questionRepository.findDetailById(questionId)
+                .orElseThrow(() -> new NoSuchElementException("존재하지 않는 질문입니다."));
+        return postComponent.getResponsePost(question);
+    }
+}
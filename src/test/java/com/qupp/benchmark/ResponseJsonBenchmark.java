@@ -0,0 +1,68 @@
+package com.qupp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.config.AppConfig;
+import com.qupp.post.dto.response.ResponsePost;
+import com.qupp.post.service.PostComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 응답 DTO 의 JSON 직렬화 비용. 날짜 필드는 @JsonFormat 패턴/타임존을 거친다.
+ * ObjectMapper 는 MVC 가 쓰는 AppConfig 의 빈과 같은 설정이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseJsonBenchmark {
+    @Param({"0", "10", "100"})
+    private int answers;
+
+    private final ObjectMapper objectMapper = new AppConfig().objectMapper();
+    private ResponsePost post;
+    private Page<ResponsePost> page;
+
+    @Setup
+    public void setUp() {
+        SyntheticPosts posts = new SyntheticPosts();
+        PostComponent postComponent = new PostComponent();
+
+        post = postComponent.getResponsePost(posts.thread(answers, 5));
+
+        List<ResponsePost> content = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            content.add(postComponent.getResponsePost(posts.thread(answers, 5)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, 10, Sort.by("registerTime").descending()), 1000);
+    }
+
+    @Benchmark
+    public byte[] responsePost() throws Exception {
+        return objectMapper.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] responsePostPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
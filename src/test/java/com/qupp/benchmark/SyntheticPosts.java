@@ -0,0 +1,99 @@
+package com.qupp.benchmark;
+
+import com.qupp.post.repository.Answer;
+import com.qupp.post.repository.Category;
+import com.qupp.post.repository.Comment;
+import com.qupp.post.repository.Question;
+import com.qupp.post.repository.SubCategory;
+import com.qupp.user.repository.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DB 없이 메모리에서 질문/답변/댓글 엔티티 그래프를 만든다.
+ */
+class SyntheticPosts {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 9, 1, 12, 0);
+
+    private long seq;
+
+    /**
+     * 답변 answers 개, 답변마다 댓글 commentsPerAnswer 개, 질문 댓글 answers 개를 가진 질문. 모든 글은 작성자가 다르다.
+     */
+    Question thread(int answers, int commentsPerAnswer) {
+        Question question = Question.builder()
+                .id(++seq)
+                .title("title")
+                .content("content ".repeat(50))
+                .user(user())
+                .registerTime(BASE)
+                .updateTime(BASE)
+                .build();
+        question.addCategory(category());
+
+        List<Comment> questionComments = new ArrayList<>();
+        for (int i = 0; i < answers; i++) {
+            questionComments.add(comment(question, null));
+        }
+        question.setComments(questionComments);
+
+        List<Answer> questionAnswers = new ArrayList<>();
+        for (int i = 0; i < answers; i++) {
+            Answer answer = Answer.builder()
+                    .id(++seq)
+                    .content("answer ".repeat(30))
+                    .user(user())
+                    .question(question)
+                    .registerTime(BASE.plusMinutes(i))
+                    .updateTime(BASE.plusMinutes(i))
+                    .build();
+
+            List<Comment> answerComments = new ArrayList<>();
+            for (int j = 0; j < commentsPerAnswer; j++) {
+                answerComments.add(comment(null, answer));
+            }
+            answer.setComments(answerComments);
+            questionAnswers.add(answer);
+        }
+        question.setAnswers(questionAnswers);
+
+        return question;
+    }
+
+    User user() {
+        long id = ++seq;
+        return User.builder()
+                .id(id)
+                .email("user%d@qupp.com".formatted(id))
+                .nickname("user%d".formatted(id))
+                .password("password")
+                .build();
+    }
+
+    private Comment comment(Question question, Answer answer) {
+        return Comment.builder()
+                .id(++seq)
+                .comment("comment")
+                .user(user())
+                .question(question)
+                .answer(answer)
+                .registerTime(BASE)
+                .updateTime(BASE)
+                .build();
+    }
+
+    private static Category category() {
+        Category category = new Category();
+        category.setId(1);
+        category.setCollege("Engineering");
+
+        SubCategory subCategory = new SubCategory();
+        subCategory.setDept("Computer Science");
+        subCategory.setCategory(category);
+        category.setSubCategory(subCategory);
+
+        return category;
+    }
+}
@@ -0,0 +1,130 @@
+package com.qupp.loadtest;
+
+import com.qupp.config.id.IdGenerator;
+import com.qupp.loadtest.LoadDataset.SeedUser;
+import com.qupp.post.importer.BulkImportWriter;
+import com.qupp.post.importer.ImportAnswer;
+import com.qupp.post.importer.ImportComment;
+import com.qupp.post.importer.ImportQuestion;
+import com.qupp.post.importer.ImportReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 부하 테스트용 데이터를 DB 에 채운다.
+ * 사용자는 JDBC 배치로, 질문/답변/댓글은 대량 가져오기(BulkImportWriter)로 넣는다.
+ * 질문은 인기 순위 순서로 만들고, 순위가 높을수록 Zipf 분포에 따라 답변이 많이 달린다.
+ */
+@RequiredArgsConstructor
+class LoadDataGenerator {
+    static final String PASSWORD = "password";
+
+    private static final String SOURCE = "loadtest";
+    private static final int CHUNK = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdGenerator idGenerator;
+    private final PasswordEncoder passwordEncoder;
+    private final BulkImportWriter bulkImportWriter;
+
+    /**
+     * @param answersPerQuestion 질문당 평균 답변 수. 인기 순위에 따라 나눠 주고 한 질문에 maxAnswers 개까지만 단다.
+     * @param commentsPerPost    질문/답변마다 0 ~ 2 * commentsPerPost 개의 댓글을 균등하게 단다.
+     * @param popularitySkew     Zipf 지수. 0 이면 모든 질문이 같은 인기를 가진다.
+     */
+    LoadDataset generate(int users, int questionsPerCollege, int answersPerQuestion, int maxAnswers,
+                         int commentsPerPost, double popularitySkew, Random random) {
+        List<SeedUser> seedUsers = insertUsers(users);
+        List<String> colleges = jdbcTemplate.queryForList("select college from category order by id", String.class);
+
+        int questions = questionsPerCollege * colleges.size();
+        ZipfSampler popularity = new ZipfSampler(questions, popularitySkew);
+        LocalDateTime now = LocalDateTime.now();
+
+        long answers = 0;
+        long comments = 0;
+        List<ImportQuestion> chunk = new ArrayList<>();
+        for (int rank = 0; rank < questions; rank++) {
+            int answerCount = (int) Math.min(maxAnswers, Math.round((double) answersPerQuestion * questions * popularity.weight(rank)));
+            chunk.add(question(colleges.get(rank % colleges.size()), answerCount, commentsPerPost, seedUsers, now, random));
+
+            if (chunk.size() == CHUNK || rank == questions - 1) {
+                ImportReport report = bulkImportWriter.write(SOURCE, rank + 1, chunk);
+                answers += report.getAnswers();
+                comments += report.getComments();
+                chunk = new ArrayList<>();
+            }
+        }
+
+        // 질문 id 는 넣은 순서대로 커지므로 id 순서가 곧 인기 순위다.
+        long[] questionIds = jdbcTemplate.queryForList("select id from question order by id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+
+        return new LoadDataset(seedUsers, colleges, questionIds, answers, comments);
+    }
+
+    // BCrypt 는 느리므로 해시는 한 번만 만들어 모든 사용자가 같은 비밀번호를 쓴다.
+    private List<SeedUser> insertUsers(int users) {
+        String password = passwordEncoder.encode(PASSWORD);
+
+        List<SeedUser> seedUsers = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            SeedUser user = new SeedUser(idGenerator.nextId("user"), "load%d@qupp.com".formatted(i), "load%d".formatted(i));
+            seedUsers.add(user);
+            rows.add(new Object[]{user.getId(), user.getEmail(), password, user.getNickname(), false});
+        }
+
+        jdbcTemplate.batchUpdate("insert into user (id, email, password, nickname, deleted) values (?, ?, ?, ?, ?)", rows);
+        return seedUsers;
+    }
+
+    private ImportQuestion question(String college, int answers, int commentsPerPost, List<SeedUser> users,
+                                    LocalDateTime now, Random random) {
+        LocalDateTime registerTime = now.minusMinutes(random.nextInt(60 * 24 * 30));
+
+        ImportQuestion question = new ImportQuestion();
+        question.setTitle("load test question");
+        question.setContent("content ".repeat(20 + random.nextInt(100)));
+        question.setAuthor(author(users, random));
+        question.setCategory(college);
+        question.setRegisterTime(registerTime);
+        question.setComments(comments(commentsPerPost, users, registerTime, random));
+
+        List<ImportAnswer> importAnswers = new ArrayList<>();
+        for (int i = 0; i < answers; i++) {
+            ImportAnswer answer = new ImportAnswer();
+            answer.setContent("answer ".repeat(10 + random.nextInt(50)));
+            answer.setAuthor(author(users, random));
+            answer.setRegisterTime(registerTime.plusMinutes(i + 1));
+            answer.setComments(comments(commentsPerPost, users, registerTime.plusMinutes(i + 1), random));
+            importAnswers.add(answer);
+        }
+        question.setAnswers(importAnswers);
+
+        return question;
+    }
+
+    private List<ImportComment> comments(int commentsPerPost, List<SeedUser> users, LocalDateTime after, Random random) {
+        List<ImportComment> comments = new ArrayList<>();
+        int count = random.nextInt(2 * commentsPerPost + 1);
+        for (int i = 0; i < count; i++) {
+            ImportComment comment = new ImportComment();
+            comment.setComment("comment");
+            comment.setAuthor(author(users, random));
+            comment.setRegisterTime(after.plusSeconds(i + 1));
+            comments.add(comment);
+        }
+        return comments;
+    }
+
+    private String author(List<SeedUser> users, Random random) {
+        return users.get(random.nextInt(users.size())).getNickname();
+    }
+}
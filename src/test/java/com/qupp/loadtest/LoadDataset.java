@@ -0,0 +1,27 @@
+package com.qupp.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 생성된 부하 테스트 데이터. 질문은 인기 순위 순서로 들어 있다.
+ */
+@Getter
+@RequiredArgsConstructor
+class LoadDataset {
+    private final List<SeedUser> users;
+    private final List<String> colleges;
+    private final long[] questionIds;
+    private final long answers;
+    private final long comments;
+
+    @Getter
+    @RequiredArgsConstructor
+    static class SeedUser {
+        private final long id;
+        private final String email;
+        private final String nickname;
+    }
+}
@@ -0,0 +1,69 @@
+package com.qupp.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 처리량과 지연 시간 분포.
+ * 지연 시간은 요청을 보냈어야 할 시각부터 재므로 서버가 밀려서 늦게 보낸 요청의 대기 시간도 포함된다.
+ */
+class LoadReport {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.latency.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    long errors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    String format(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append("%-12s %9s %7s %10s %9s %9s %9s %9s%n".formatted(
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long errors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().latency.getIntervalHistogram();
+            long endpointErrors = entry.getValue().errors.sum();
+            total.add(histogram);
+            errors += endpointErrors;
+            report.append(line(entry.getKey(), histogram, endpointErrors, seconds));
+        }
+        report.append(line("total", total, errors, seconds));
+
+        return report.toString();
+    }
+
+    private static String line(String name, Histogram histogram, long errors, double seconds) {
+        return "%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n".formatted(
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static class Endpoint {
+        private final Recorder latency = new Recorder(MAX_LATENCY_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
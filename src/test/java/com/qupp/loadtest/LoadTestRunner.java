@@ -0,0 +1,240 @@
+package com.qupp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qupp.config.id.IdGenerator;
+import com.qupp.loadtest.LoadDataset.SeedUser;
+import com.qupp.post.importer.BulkImportWriter;
+import com.qupp.user.repository.User;
+import com.qupp.user.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 DB 에 데이터를 채우고 실제 서버(Tomcat)에 읽기/쓰기가 섞인 요청을 고정된 속도로 보내는 부하 테스트.
+ * 일반 테스트에서는 돌지 않고 mvn -P load-test test 로 실행한다. 설정은 application-loadtest.properties 이고
+ * -Dloadtest.rate=500 처럼 덮어쓸 수 있다.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class LoadTestRunner {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IdGenerator idGenerator;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private BulkImportWriter bulkImportWriter;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+    @Value("${loadtest.users}")
+    private int users;
+    @Value("${loadtest.questions-per-college}")
+    private int questionsPerCollege;
+    @Value("${loadtest.answers-per-question}")
+    private int answersPerQuestion;
+    @Value("${loadtest.max-answers}")
+    private int maxAnswers;
+    @Value("${loadtest.comments-per-post}")
+    private int commentsPerPost;
+    @Value("${loadtest.popularity-skew}")
+    private double popularitySkew;
+
+    @Value("${loadtest.rate}")
+    private int rate;
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+    @Value("${loadtest.threads}")
+    private int threads;
+    @Value("#{${loadtest.mix}}")
+    private Map<String, Integer> mix;
+    @Value("${loadtest.max-error-rate}")
+    private double maxErrorRate;
+    @Value("${loadtest.report}")
+    private String reportPath;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private LoadDataset dataset;
+    private ZipfSampler popularity;
+    private String[] tokens;
+    private String[] operations;
+    private int[] cumulativeWeights;
+
+    @Test
+    @DisplayName("읽기/쓰기 혼합 부하를 고정 속도로 보내고 엔드포인트별 처리량과 p50/p95/p99 지연 시간을 보고한다.")
+    void run() throws Exception {
+        seed();
+        prepareWorkload();
+
+        LoadReport report = new LoadReport();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        // 열린 모델: 응답을 기다리지 않고 정해진 시각마다 요청을 만든다. 서버가 밀리면 작업 큐에서 기다린 시간까지 지연에 들어간다.
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            long scheduled = intended;
+            workers.execute(() -> {
+                String operation = pickOperation(ThreadLocalRandom.current());
+                boolean success = send(operation, ThreadLocalRandom.current());
+                if (scheduled >= measureFrom) {
+                    report.record(operation, System.nanoTime() - scheduled, success);
+                }
+            });
+        }
+        workers.shutdown();
+        assertThat(workers.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        long elapsed = System.nanoTime() - measureFrom;
+        String result = "target rate %d req/s, %d s measured, %d threads%n%s".formatted(
+                rate, durationSeconds, threads, report.format(elapsed));
+        log.info("부하 테스트 결과\n{}", result);
+        Files.writeString(Path.of(reportPath), result);
+
+        long requests = (long) rate * durationSeconds;
+        assertThat(report.errors()).isLessThanOrEqualTo((long) (requests * maxErrorRate));
+    }
+
+    private void seed() {
+        long started = System.currentTimeMillis();
+        dataset = new LoadDataGenerator(jdbcTemplate, idGenerator, passwordEncoder, bulkImportWriter)
+                .generate(users, questionsPerCollege, answersPerQuestion, maxAnswers, commentsPerPost, popularitySkew, new Random(seed));
+
+        log.info("부하 테스트 데이터 생성: 사용자 {}, 질문 {}, 답변 {}, 댓글 {} ({} ms)",
+                dataset.getUsers().size(), dataset.getQuestionIds().length, dataset.getAnswers(), dataset.getComments(),
+                System.currentTimeMillis() - started);
+    }
+
+    private void prepareWorkload() {
+        popularity = new ZipfSampler(dataset.getQuestionIds().length, popularitySkew);
+
+        List<SeedUser> seedUsers = dataset.getUsers();
+        tokens = new String[seedUsers.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            SeedUser user = seedUsers.get(i);
+            tokens[i] = userService.genAccessToken(User.builder()
+                    .id(user.getId())
+                    .email(user.getEmail())
+                    .nickname(user.getNickname())
+                    .build());
+        }
+
+        operations = mix.keySet().toArray(String[]::new);
+        cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    private String pickOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean send(String operation, Random random) {
+        int userIndex = random.nextInt(tokens.length);
+        SeedUser user = dataset.getUsers().get(userIndex);
+        long questionId = dataset.getQuestionIds()[popularity.sample(random)];
+
+        HttpRequest.Builder request = switch (operation) {
+            case "list" -> get(listUrl(random));
+            case "detail" -> get("/question/" + questionId);
+            case "answer" -> post("/question/" + questionId + "/answer",
+                    Map.of("content", "load test answer", "author", user.getNickname()));
+            case "comment" -> post("/question/" + questionId + "/comment",
+                    Map.of("comment", "load test comment", "author", user.getNickname()));
+            case "login" -> post("/login", Map.of("email", user.getEmail(), "password", LoadDataGenerator.PASSWORD));
+            default -> throw new IllegalArgumentException("알 수 없는 작업입니다. " + operation);
+        };
+        request.header("Authorization", "Bearer " + tokens[userIndex]);
+
+        try {
+            HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // 대부분 첫 페이지를 보고, 절반은 단과대 목록을 본다.
+    private String listUrl(Random random) {
+        int page = random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(9);
+        List<String> colleges = dataset.getColleges();
+        return random.nextBoolean()
+                ? "/questions?page=" + page
+                : "/questions?page=" + page + "&category=" + colleges.get(random.nextInt(colleges.size()));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
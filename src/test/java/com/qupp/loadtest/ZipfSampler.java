@@ -0,0 +1,34 @@
+package com.qupp.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 순위 r(0부터)이 1/(r+1)^skew 에 비례하는 확률로 뽑히는 분포. 소수의 인기 글에 조회와 답변이 몰리는 모양을 흉내 낸다.
+ */
+class ZipfSampler {
+    private final double[] cdf;
+
+    ZipfSampler(int size, double skew) {
+        cdf = new double[size];
+
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+    }
+
+    double weight(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cdf.length - 1);
+    }
+}
@@ -0,0 +1,13 @@
+INSERT INTO category (id, college) values (1, 'Humanities');
+INSERT INTO category (id, college) values (2, 'SocialScience');
+INSERT INTO category (id, college) values (3, 'Business');
+INSERT INTO category (id, college) values (4, 'NaturalScience');
+INSERT INTO category (id, college) values (5, 'Engineering');
+INSERT INTO category (id, college) values (6, 'Art');
+
+INSERT INTO subcategory (id, dept, category_id) values (1, 'Humanities', 1);
+INSERT INTO subcategory (id, dept, category_id) values (2, 'SocialScience', 2);
+INSERT INTO subcategory (id, dept, category_id) values (3, 'Business', 3);
+INSERT INTO subcategory (id, dept, category_id) values (4, 'NaturalScience', 4);
+INSERT INTO subcategory (id, dept, category_id) values (5, 'Engineering', 5);
+INSERT INTO subcategory (id, dept, category_id) values (6, 'Art', 6);